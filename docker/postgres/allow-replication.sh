@@ -0,0 +1,3 @@
+#!/bin/bash
+# Lets the read replica stream WAL from this server with the postgres user
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,41 @@
+// k6 load test for GET /api/customers/{id}
+//
+// Run it once with the default configuration and once with virtual threads enabled,
+// then compare the p(99) line of the http_req_duration summary:
+//
+//   ./mvnw spring-boot:run
+//   k6 run load-test/get-customer-by-id.js
+//
+//   ./mvnw spring-boot:run -Dspring-boot.run.arguments=--spring.threads.virtual.enabled=true
+//   k6 run load-test/get-customer-by-id.js
+//
+// Environment variables:
+//   BASE_URL  the service URL (default http://localhost:8080)
+//   VUS       the number of concurrent clients (default 2000)
+//   DURATION  how long to hold the load (default 1m)
+//   MAX_ID    ids are picked at random between 1 and MAX_ID (default 1000)
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAX_ID = parseInt(__ENV.MAX_ID || '1000', 10);
+
+export const options = {
+  scenarios: {
+    concurrent_clients: {
+      executor: 'constant-vus',
+      vus: parseInt(__ENV.VUS || '2000', 10),
+      duration: __ENV.DURATION || '1m',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const id = Math.floor(Math.random() * MAX_ID) + 1;
+  const response = http.get(`${BASE_URL}/api/customers/${id}`);
+  check(response, {
+    'status is 200, 404 or 503': (r) => r.status === 200 || r.status === 404 || r.status === 503,
+  });
+}
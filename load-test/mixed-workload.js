@@ -0,0 +1,70 @@
+// k6 load test for a mix of reads and batch inserts, to compare the throughput
+// of the default configuration with the prod profile
+//
+// Run it once with each configuration, then compare the http_reqs rate and the
+// p(95) line of the http_req_duration summary:
+//
+//   ./mvnw spring-boot:run
+//   k6 run load-test/mixed-workload.js
+//
+//   ./mvnw spring-boot:run -Dspring-boot.run.profiles=prod
+//   k6 run load-test/mixed-workload.js
+//
+// Each iteration reads a customer by ID, reads a page of 50 customers, and one
+// in WRITE_EVERY iterations creates a batch of BATCH_SIZE customers with unique emails.
+//
+// Environment variables:
+//   BASE_URL     the service URL (default http://localhost:8080)
+//   VUS          the number of concurrent clients (default 200)
+//   DURATION     how long to hold the load (default 1m)
+//   MAX_ID       ids are picked at random between 1 and MAX_ID (default 1000)
+//   BATCH_SIZE   the number of customers per batch insert (default 50)
+//   WRITE_EVERY  one iteration in WRITE_EVERY inserts a batch (default 10)
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAX_ID = parseInt(__ENV.MAX_ID || '1000', 10);
+const BATCH_SIZE = parseInt(__ENV.BATCH_SIZE || '50', 10);
+const WRITE_EVERY = parseInt(__ENV.WRITE_EVERY || '10', 10);
+const RUN_ID = Date.now();
+
+export const options = {
+  scenarios: {
+    concurrent_clients: {
+      executor: 'constant-vus',
+      vus: parseInt(__ENV.VUS || '200', 10),
+      duration: __ENV.DURATION || '1m',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const id = Math.floor(Math.random() * MAX_ID) + 1;
+  const byId = http.get(`${BASE_URL}/api/customers/${id}`, { tags: { name: 'get-by-id' } });
+  check(byId, {
+    'get by id is 200, 404 or 503': (r) => r.status === 200 || r.status === 404 || r.status === 503,
+  });
+
+  const page = http.get(`${BASE_URL}/api/customers?limit=50`, { tags: { name: 'get-page' } });
+  check(page, { 'page is 200 or 503': (r) => r.status === 200 || r.status === 503 });
+
+  if (__ITER % WRITE_EVERY === 0) {
+    const customers = [];
+    for (let i = 0; i < BATCH_SIZE; i++) {
+      customers.push({
+        firstName: 'Load',
+        lastName: 'Test',
+        email: `load-${RUN_ID}-${__VU}-${__ITER}-${i}@example.com`,
+        phone: '555-0100',
+      });
+    }
+    const batch = http.post(`${BASE_URL}/api/customers/batch`, JSON.stringify(customers), {
+      headers: { 'Content-Type': 'application/json' },
+      tags: { name: 'create-batch' },
+    });
+    check(batch, { 'batch is 200 or 503': (r) => r.status === 200 || r.status === 503 });
+  }
+}
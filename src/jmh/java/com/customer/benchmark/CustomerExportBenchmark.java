@@ -0,0 +1,108 @@
+package com.customer.benchmark;
+
+import com.customer.CustomerApplication;
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.enums.ExportFormat;
+import com.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark of exporting every customer of a seeded PostgreSQL, through read-only views
+ * and Jackson as NDJSON, and with COPY as CSV, plain and gzipped.
+ * Runs the application against a PostgreSQL container, so Docker must be available.
+ * Each operation exports all rows, so the benchmark reports the time of single runs.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerExportBenchmark {
+
+    @Param("1000000")
+    private int rows;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16.2");
+        postgres.start();
+        context = new SpringApplicationBuilder(CustomerApplication.class)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "customer.outbox.sink=memory",
+                        "server.port=0")
+                .run();
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO customers (first_name, last_name, email, email_normalized, phone)
+                SELECT 'First' || i, 'Last' || i, 'customer' || i || '@example.com',
+                       'customer' || i || '@example.com', '(555) ' || lpad(i::text, 7, '0')
+                FROM generate_series(1, ?) AS i
+                """, rows);
+        context.getBean(JdbcTemplate.class).execute("VACUUM ANALYZE customers");
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public long entitiesAsNdjson() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        customerService.exportCustomers(outputStream);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long copyAsCsv() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        customerService.copyCustomers(new CustomerFilterDTO(), ExportFormat.CSV, outputStream);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long copyAsGzippedCsv() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream, 64 * 1024);
+        customerService.copyCustomers(new CustomerFilterDTO(), ExportFormat.CSV, gzip);
+        gzip.finish();
+        return outputStream.count;
+    }
+
+    /**
+     * Output stream standing in for the response, counting the bytes written to it.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
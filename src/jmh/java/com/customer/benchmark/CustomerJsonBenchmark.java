@@ -0,0 +1,67 @@
+package com.customer.benchmark;
+
+import com.customer.dto.CustomerDTO;
+import com.customer.dto.CustomerView;
+import com.customer.entity.Customer;
+import com.customer.mapper.CustomerMapper;
+import com.customer.mock.CustomerMock;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of serializing customers to JSON bytes, through a CustomerDTO copy of the entity,
+ * and from the read-only CustomerView the listing, sync and export queries build in place of
+ * the entity, written by CustomerJsonSerializer. The ObjectMapper writes dates as text,
+ * as in the running application.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerJsonBenchmark {
+
+    private CustomerMapper customerMapper;
+    private ObjectWriter customerWriter;
+    private ObjectWriter viewWriter;
+    private Customer customer;
+    private CustomerDTO customerDTO;
+    private CustomerView customerView;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        customerMapper = new CustomerMapper();
+        customerWriter = objectMapper.writerFor(CustomerDTO.class);
+        viewWriter = objectMapper.writerFor(CustomerView.class);
+        customer = CustomerMock.createMockCustomer();
+        customerDTO = customerMapper.toDTO(customer);
+        customerView = new CustomerView(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhone(), customer.getCreatedAt(), customer.getUpdatedAt(),
+                customer.getStatus());
+    }
+
+    @Benchmark
+    public byte[] dtoToJson() throws JsonProcessingException {
+        return customerWriter.writeValueAsBytes(customerDTO);
+    }
+
+    @Benchmark
+    public byte[] entityToJsonThroughDTO() throws JsonProcessingException {
+        return customerWriter.writeValueAsBytes(customerMapper.toDTO(customer));
+    }
+
+    @Benchmark
+    public byte[] viewToJson() throws JsonProcessingException {
+        return viewWriter.writeValueAsBytes(customerView);
+    }
+}
@@ -0,0 +1,42 @@
+package com.customer.benchmark;
+
+import com.customer.dto.CustomerDTO;
+import com.customer.entity.Customer;
+import com.customer.mapper.CustomerMapper;
+import com.customer.mock.CustomerMock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of mapping lists of Customer entities to CustomerDTOs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerListMapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private CustomerMapper customerMapper;
+    private List<Customer> customers;
+
+    @Setup
+    public void setUp() {
+        customerMapper = new CustomerMapper();
+        customers = CustomerMock.createMockCustomerList(size);
+        for (int i = 0; i < size; i++) {
+            customers.get(i).setId((long) i + 1);
+        }
+    }
+
+    @Benchmark
+    public List<CustomerDTO> toDTOList() {
+        return customerMapper.toDTOList(customers);
+    }
+}
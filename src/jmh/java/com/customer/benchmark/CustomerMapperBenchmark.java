@@ -0,0 +1,35 @@
+package com.customer.benchmark;
+
+import com.customer.dto.CustomerDTO;
+import com.customer.entity.Customer;
+import com.customer.mapper.CustomerMapper;
+import com.customer.mock.CustomerMock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of mapping a single Customer entity to a CustomerDTO.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerMapperBenchmark {
+
+    private CustomerMapper customerMapper;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        customerMapper = new CustomerMapper();
+        customer = CustomerMock.createMockCustomer();
+    }
+
+    @Benchmark
+    public CustomerDTO toDTO() {
+        return customerMapper.toDTO(customer);
+    }
+}
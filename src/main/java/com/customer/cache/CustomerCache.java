@@ -0,0 +1,138 @@
+package com.customer.cache;
+
+import com.customer.dto.CustomerDTO;
+import com.customer.util.EmailNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of customer DTOs, keyed by ID and by lowercased email.
+ * The email index only stores IDs, so a customer is held once and an entry left
+ * behind by an email change is detected and ignored on lookup.
+ * Hit, miss and eviction counts are published to Micrometer as cache metrics.
+ */
+@Component
+public class CustomerCache {
+
+    private final Cache<Long, CustomerDTO> customersById;
+    private final Cache<String, Long> customerIdsByEmail;
+
+    public CustomerCache(@Value("${customer.cache.maximum-size}") long maximumSize,
+                         @Value("${customer.cache.expire-after-write}") Duration expireAfterWrite,
+                         MeterRegistry meterRegistry) {
+        this.customersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.customerIdsByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, customersById, "customersById");
+        CaffeineCacheMetrics.monitor(meterRegistry, customerIdsByEmail, "customerIdsByEmail");
+    }
+
+    /**
+     * Get a customer by ID, loading and caching it on a miss.
+     * Concurrent misses for the same ID share a single load.
+     *
+     * @param id the customer ID
+     * @param loader loads the customer when it is not cached
+     * @return an Optional containing the customer DTO if found
+     */
+    public Optional<CustomerDTO> getById(Long id, Supplier<Optional<CustomerDTO>> loader) {
+        CustomerDTO customer = customersById.get(id, key -> loader.get().orElse(null));
+        if (customer != null) {
+            customerIdsByEmail.put(normalizeEmail(customer.getEmail()), customer.getId());
+        }
+        return Optional.ofNullable(customer);
+    }
+
+    /**
+     * Get a cached customer by ID, without loading it on a miss.
+     *
+     * @param id the customer ID
+     * @return an Optional containing the customer DTO if cached
+     */
+    public Optional<CustomerDTO> peekById(Long id) {
+        return Optional.ofNullable(customersById.getIfPresent(id));
+    }
+
+    /**
+     * Get a customer by email, loading and caching it on a miss.
+     *
+     * @param email the customer email, in any case
+     * @param loader loads the customer when it is not cached
+     * @return an Optional containing the customer DTO if found
+     */
+    public Optional<CustomerDTO> getByEmail(String email, Supplier<Optional<CustomerDTO>> loader) {
+        String key = normalizeEmail(email);
+        Long id = customerIdsByEmail.getIfPresent(key);
+        if (id != null) {
+            CustomerDTO customer = customersById.getIfPresent(id);
+            if (customer != null && key.equals(normalizeEmail(customer.getEmail()))) {
+                return Optional.of(customer);
+            }
+            customerIdsByEmail.invalidate(key);
+        }
+
+        Optional<CustomerDTO> customer = loader.get();
+        customer.ifPresent(this::put);
+        return customer;
+    }
+
+    /**
+     * Cache a customer once the current transaction commits,
+     * or right away when there is no transaction.
+     *
+     * @param customer the customer DTO to cache
+     */
+    public void putAfterCommit(CustomerDTO customer) {
+        afterCommit(() -> put(customer));
+    }
+
+    /**
+     * Evict a customer now and again once the current transaction commits,
+     * so a read racing with the transaction cannot leave a stale entry behind.
+     *
+     * @param id the customer ID to evict
+     */
+    public void evictAfterCommit(Long id) {
+        customersById.invalidate(id);
+        afterCommit(() -> customersById.invalidate(id));
+    }
+
+    private void put(CustomerDTO customer) {
+        customersById.put(customer.getId(), customer);
+        customerIdsByEmail.put(normalizeEmail(customer.getEmail()), customer.getId());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? "" : EmailNormalizer.normalize(email);
+    }
+}
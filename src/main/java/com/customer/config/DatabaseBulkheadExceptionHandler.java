@@ -0,0 +1,37 @@
+package com.customer.config;
+
+import com.customer.datasource.DatabaseBulkheadFullException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers requests that could not get a database connection from the bulkhead with 503.
+ * Spring wraps the failure differently depending on whether the connection was taken when
+ * the transaction began or on its first statement; other causes of these exceptions are
+ * left to the default handling.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "customer.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadExceptionHandler {
+
+    /**
+     * @return 503 Service Unavailable with a Retry-After header
+     * @throws Exception the exception itself when the bulkhead is not its cause
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Void> handleConnectionUnavailable(Exception exception) throws Exception {
+        if (!(NestedExceptionUtils.getMostSpecificCause(exception) instanceof DatabaseBulkheadFullException)) {
+            throw exception;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.customer.controller;
+
+import com.customer.dto.AddressCreateDTO;
+import com.customer.dto.AddressDTO;
+import com.customer.dto.AddressUpdateDTO;
+import com.customer.service.AddressService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the addresses of a customer.
+ */
+@RestController
+@RequestMapping("/api/customers/{customerId}/addresses")
+@RequiredArgsConstructor
+public class AddressController {
+
+    private final AddressService addressService;
+
+    /**
+     * Get the addresses of a customer.
+     *
+     * @param customerId the customer ID
+     * @return the address DTOs, or 404 if the customer is not found
+     */
+    @GetMapping
+    public ResponseEntity<List<AddressDTO>> getAddresses(@PathVariable Long customerId) {
+        return addressService.getAddresses(customerId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Add an address to a customer.
+     *
+     * @param customerId the customer ID
+     * @param addressCreateDTO the address data to create
+     * @return the created address DTO, or 404 if the customer is not found
+     */
+    @PostMapping
+    public ResponseEntity<AddressDTO> createAddress(@PathVariable Long customerId,
+                                                    @RequestBody AddressCreateDTO addressCreateDTO) {
+        return addressService.createAddress(customerId, addressCreateDTO)
+                .map(addressDTO -> ResponseEntity.status(HttpStatus.CREATED).body(addressDTO))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Update an address of a customer.
+     *
+     * @param customerId the customer ID
+     * @param addressId the address ID
+     * @param addressUpdateDTO the address data to update
+     * @return the updated address DTO, or 404 if the customer has no such address
+     */
+    @PutMapping("/{addressId}")
+    public ResponseEntity<AddressDTO> updateAddress(@PathVariable Long customerId, @PathVariable Long addressId,
+                                                    @RequestBody AddressUpdateDTO addressUpdateDTO) {
+        return addressService.updateAddress(customerId, addressId, addressUpdateDTO)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Delete an address of a customer.
+     *
+     * @param customerId the customer ID
+     * @param addressId the address ID
+     * @return 204 No Content if successful, 404 if not found
+     */
+    @DeleteMapping("/{addressId}")
+    public ResponseEntity<Void> deleteAddress(@PathVariable Long customerId, @PathVariable Long addressId) {
+        if (addressService.deleteAddress(customerId, addressId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -1,15 +1,50 @@
 package com.customer.controller;
 
+import com.customer.dto.CustomerBatchResultDTO;
+import com.customer.dto.CustomerChangesDTO;
 import com.customer.dto.CustomerCreateDTO;
 import com.customer.dto.CustomerDTO;
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerLookupDTO;
+import com.customer.dto.CustomerLookupResultDTO;
+import com.customer.dto.CustomerPageDTO;
+import com.customer.dto.CustomerStatusTransitionDTO;
+import com.customer.dto.CustomerSyncPageDTO;
 import com.customer.dto.CustomerUpdateDTO;
+import com.customer.enums.CustomerSort;
+import com.customer.enums.CustomerStatus;
+import com.customer.enums.ExportFormat;
+import com.customer.mapper.InvalidPatchException;
+import com.customer.outbox.CustomerChangeFeed;
+import com.customer.outbox.ExpiredFeedPositionException;
 import com.customer.service.CustomerService;
+import com.customer.service.CustomerStatusTransitionService;
+import com.customer.util.CursorCodec;
+import com.customer.util.CursorCodec.Position;
+import com.customer.util.CursorCodec.SyncPosition;
+import com.customer.util.CursorCodec.TimeSyncPass;
+import com.customer.util.ETags;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for customer operations.
@@ -19,28 +54,209 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CustomerController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String INCLUDE_ADDRESSES = "addresses";
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_CHANGES = 1000;
+    private static final int MAX_LOOKUP_SIZE = 1000;
+    private static final int MAX_TRANSITION_IDS = 100_000;
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final CustomerService customerService;
+    private final CustomerChangeFeed customerChangeFeed;
+    private final CustomerStatusTransitionService customerStatusTransitionService;
 
     /**
-     * Get all customers.
+     * Get a page of customers, optionally filtered by status and creation time.
      *
-     * @return list of all customers as DTOs
+     * @param after the opaque cursor returned with the previous page, absent for the first page
+     * @param limit the maximum number of customers to return, capped at 500
+     * @param include "addresses" to return the addresses of each customer
+     * @param status only return customers with this status
+     * @param createdFrom only return customers created at or after this time
+     * @param createdTo only return customers created before this time
+     * @param sort "id" (default), "createdAt" or "-createdAt" for newest first
+     * @return the page of customers, or 400 if the cursor, limit, include or sort is invalid
      */
     @GetMapping
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        return ResponseEntity.ok(customerService.getAllCustomers());
+    public ResponseEntity<CustomerPageDTO> getCustomers(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) CustomerStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdTo,
+            @RequestParam(defaultValue = "id") String sort) {
+        Optional<CustomerSort> customerSort = CustomerSort.fromParameter(sort);
+        if (limit < 1 || (include != null && !INCLUDE_ADDRESSES.equals(include)) || customerSort.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Position position = null;
+        if (after != null) {
+            Optional<Position> decoded = customerSort.get() == CustomerSort.ID
+                    ? CursorCodec.decodeId(after).map(id -> new Position(null, id))
+                    : CursorCodec.decodeCreatedAt(after);
+            if (decoded.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            position = decoded.get();
+        }
+        CustomerFilterDTO filter = new CustomerFilterDTO(status, createdFrom, createdTo);
+        return ResponseEntity.ok(customerService.getCustomerPage(filter, customerSort.get(), position,
+                Math.min(limit, MAX_PAGE_SIZE), INCLUDE_ADDRESSES.equals(include)));
+    }
+
+    /**
+     * Get the customers changed and deleted since a point in time, to sync a local copy.
+     * Start with ts, or from the beginning without it, then pass the returned cursor
+     * as after: at once while hasMore is true, and later to fetch the next changes.
+     *
+     * @param ts the point in time to sync from, for the first request
+     * @param after the cursor returned by the previous request
+     * @param limit the maximum number of changed, and of deleted, customers to return, capped at 500
+     * @return the page of changes, or 400 if both ts and after are given, the cursor is invalid
+     *         or the limit is below 1
+     */
+    @GetMapping("/changed-since")
+    public ResponseEntity<CustomerSyncPageDTO> getChangedCustomers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime ts,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        if ((ts != null && after != null) || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        SyncPosition since;
+        if (after != null) {
+            Optional<SyncPosition> decoded = CursorCodec.decodeSync(after);
+            if (decoded.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            since = decoded.get();
+        } else {
+            Position start = new Position(ts != null ? ts : Instant.EPOCH.atOffset(ZoneOffset.UTC), 0L);
+            since = new TimeSyncPass(null, start, start);
+        }
+        return ResponseEntity.ok(customerService.getChangedCustomers(since, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Long-poll the feed of customer changes.
+     * Answers at once when there are changes after the given position, otherwise
+     * waits for the next ones and answers with none when the poll times out.
+     * Poll again with the returned nextSince.
+     *
+     * @param since the seq of the last change read, 0 to read from the start
+     * @param limit the maximum number of changes to return, capped at 1000
+     * @return the changes after the position, 400 if since or limit is invalid, or 410 if
+     *         changes after the position were already deleted and the client must resync
+     */
+    @GetMapping("/changes")
+    public DeferredResult<CustomerChangesDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                         @RequestParam(defaultValue = "100") int limit) {
+        if (since < 0 || limit < 1) {
+            DeferredResult<CustomerChangesDTO> badRequest = new DeferredResult<>();
+            badRequest.setErrorResult(ResponseEntity.badRequest().build());
+            return badRequest;
+        }
+        return customerChangeFeed.poll(since, Math.min(limit, MAX_CHANGES));
+    }
+
+    /**
+     * Export all customers as newline-delimited JSON.
+     * The response is streamed, one customer per line, while rows are read from the database.
+     *
+     * @return the streaming response body
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(customerService::exportCustomers);
+    }
+
+    /**
+     * Export the customers matching the filters as CSV with a header line, ordered by ID.
+     * Rows are copied from the database with COPY and streamed as they arrive,
+     * gzip-compressed when the client accepts it.
+     *
+     * @param status only export customers with this status
+     * @param createdFrom only export customers created at or after this time
+     * @param createdTo only export customers created before this time
+     * @param acceptEncoding the encodings the client accepts
+     * @return the streaming response body
+     */
+    @GetMapping(value = "/export.csv", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomersCsv(
+            @RequestParam(required = false) CustomerStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdTo,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return copyCustomers(new CustomerFilterDTO(status, createdFrom, createdTo), ExportFormat.CSV,
+                MediaType.parseMediaType(TEXT_CSV_VALUE), "customers.csv", acceptEncoding);
+    }
+
+    /**
+     * Export the customers matching the filters in PostgreSQL's binary COPY format, ordered by ID,
+     * to load into another PostgreSQL with COPY ... FROM ... WITH (FORMAT binary).
+     *
+     * @param status only export customers with this status
+     * @param createdFrom only export customers created at or after this time
+     * @param createdTo only export customers created before this time
+     * @param acceptEncoding the encodings the client accepts
+     * @return the streaming response body
+     */
+    @GetMapping(value = "/export.bin", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomersBinary(
+            @RequestParam(required = false) CustomerStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdTo,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return copyCustomers(new CustomerFilterDTO(status, createdFrom, createdTo), ExportFormat.BINARY,
+                MediaType.APPLICATION_OCTET_STREAM, "customers.bin", acceptEncoding);
+    }
+
+    /**
+     * Search customers by a fragment of their first name, last name, email or phone.
+     *
+     * @param q the text to search for, at least 3 characters long
+     * @param limit the maximum number of customers to return, capped at 100
+     * @return the matching customer DTOs, best match first, or 400 if the text is too short
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerDTO>> searchCustomers(@RequestParam String q,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        String query = q.strip();
+        if (query.length() < MIN_SEARCH_LENGTH || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(customerService.searchCustomers(query, Math.min(limit, MAX_SEARCH_RESULTS)));
     }
 
     /**
      * Get a customer by ID.
+     * When the If-None-Match header holds the current ETag, only the version is looked up
+     * and 304 Not Modified is returned without a body.
      *
      * @param id the customer ID
-     * @return the customer DTO if found, or 404 if not found
+     * @param ifNoneMatch the ETags the client already has
+     * @return the customer DTO with its ETag if found, 304 if not modified, or 404 if not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long id,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = customerService.getCustomerVersion(id).map(ETags::of);
+            if (eTag.isPresent() && ETags.matchesNoneMatch(ifNoneMatch, eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
         return customerService.getCustomerById(id)
-                .map(ResponseEntity::ok)
+                .map(customerDTO -> withETag(ResponseEntity.ok(), customerDTO))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -48,41 +264,137 @@ public class CustomerController {
      * Get a customer by email.
      *
      * @param email the customer email
-     * @return the customer DTO if found, or 404 if not found
+     * @param ifNoneMatch the ETags the client already has
+     * @return the customer DTO with its ETag if found, 304 if not modified, or 404 if not found
      */
     @GetMapping("/by-email")
-    public ResponseEntity<CustomerDTO> getCustomerByEmail(@RequestParam String email) {
+    public ResponseEntity<CustomerDTO> getCustomerByEmail(@RequestParam String email,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         return customerService.getCustomerByEmail(email)
-                .map(ResponseEntity::ok)
+                .map(customerDTO -> {
+                    if (ifNoneMatch != null && customerDTO.getVersion() != null) {
+                        String eTag = ETags.of(customerDTO.getVersion());
+                        if (ETags.matchesNoneMatch(ifNoneMatch, eTag)) {
+                            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<CustomerDTO>build();
+                        }
+                    }
+                    return withETag(ResponseEntity.ok(), customerDTO);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Look up many customers by ID and by email in one request.
+     *
+     * @param customerLookupDTO the IDs and emails to look up, at most 1000 in total
+     * @return the customers found in request order with the IDs and emails not found,
+     *         or 400 if the lookup is empty, too large or contains nulls
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<CustomerLookupResultDTO> lookupCustomers(@RequestBody CustomerLookupDTO customerLookupDTO) {
+        List<Long> ids = customerLookupDTO.getIds() == null ? List.of() : customerLookupDTO.getIds();
+        List<String> emails = customerLookupDTO.getEmails() == null ? List.of() : customerLookupDTO.getEmails();
+        int size = ids.size() + emails.size();
+        if (size == 0 || size > MAX_LOOKUP_SIZE || ids.stream().anyMatch(Objects::isNull) || emails.stream().anyMatch(Objects::isNull)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(customerService.lookupCustomers(ids, emails));
+    }
+
     /**
      * Create a new customer.
      *
      * @param customerCreateDTO the customer data to create
-     * @return the created customer DTO
+     * @return the created customer DTO with its ETag, or 409 if the email is already taken
      */
     @PostMapping
     public ResponseEntity<CustomerDTO> createCustomer(@RequestBody CustomerCreateDTO customerCreateDTO) {
-        if (customerService.existsByEmail(customerCreateDTO.getEmail())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        return customerService.createCustomer(customerCreateDTO)
+                .map(customerDTO -> withETag(ResponseEntity.status(HttpStatus.CREATED), customerDTO))
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    /**
+     * Create many customers in one request.
+     *
+     * @param customerCreateDTOs the customers to create, at most 1000
+     * @return the result of each item in request order, or 400 if the batch is empty or too large
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<CustomerBatchResultDTO>> createCustomers(@RequestBody List<CustomerCreateDTO> customerCreateDTOs) {
+        if (customerCreateDTOs.isEmpty() || customerCreateDTOs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(customerService.createCustomers(customerCreateDTOs));
+    }
+
+    /**
+     * Move many customers to a status at once, chosen either by ID or by filter.
+     * Customers are updated in chunks, each committed on its own, and the IDs of the
+     * customers that changed are streamed as newline-delimited JSON as each chunk commits.
+     * Customers already in the status are not changed, so a transition that failed
+     * part way can be sent again.
+     *
+     * @param customerStatusTransitionDTO the status to move to, and at most 100000 IDs or a filter
+     *                                    with at least one criterion
+     * @return the streaming response body, or 400 if the status is missing, both or neither
+     *         of IDs and filter are given, the IDs are empty, too many or contain null,
+     *         or the filter is empty
+     */
+    @PostMapping(value = "/status-transitions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transitionStatus(
+            @RequestBody CustomerStatusTransitionDTO customerStatusTransitionDTO) {
+        List<Long> ids = customerStatusTransitionDTO.getIds();
+        CustomerFilterDTO filter = customerStatusTransitionDTO.getFilter();
+        if (customerStatusTransitionDTO.getStatus() == null || (ids == null) == (filter == null)
+                || (ids != null && (ids.isEmpty() || ids.size() > MAX_TRANSITION_IDS || ids.stream().anyMatch(Objects::isNull)))
+                || (filter != null && filter.isEmpty())) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(customerService.createCustomer(customerCreateDTO));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> customerStatusTransitionService.transitionStatus(customerStatusTransitionDTO,
+                        outputStream));
     }
 
     /**
      * Update an existing customer.
+     * With an If-Match header, the update only applies if the customer still has that ETag.
      *
      * @param id the customer ID
+     * @param ifMatch the ETag the client last read, or * to update any version
      * @param customerUpdateDTO the customer data to update
-     * @return the updated customer DTO if found, or 404 if not found
+     * @return the updated customer DTO with its new ETag if found, 404 if not found,
+     *         or 412 if the customer was modified since
      */
     @PutMapping("/{id}")
-    public ResponseEntity<CustomerDTO> updateCustomer(@PathVariable Long id, @RequestBody CustomerUpdateDTO customerUpdateDTO) {
-        return customerService.updateCustomer(id, customerUpdateDTO)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<CustomerDTO> updateCustomer(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @RequestBody CustomerUpdateDTO customerUpdateDTO) {
+        return customerService.updateCustomer(id, expectedVersion(id, ifMatch), customerUpdateDTO)
+                .map(customerDTO -> withETag(ResponseEntity.ok(), customerDTO))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Partially update a customer with a JSON Merge Patch (RFC 7396).
+     * Only the fields present are changed, and a null phone clears it.
+     *
+     * @param id the customer ID
+     * @param ifMatch the ETag the client last read, or * to patch any version
+     * @param patch the merge patch, e.g. {"status": "INACTIVE"}
+     * @return the patched customer DTO with its new ETag if found, 404 if not found,
+     *         400 if the patch is invalid, or 412 if the customer was modified since
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<CustomerDTO> patchCustomer(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @RequestBody JsonNode patch) {
+        if (!(patch instanceof ObjectNode patchObject)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return customerService.patchCustomer(id, expectedVersion(id, ifMatch), patchObject)
+                .map(customerDTO -> withETag(ResponseEntity.ok(), customerDTO))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -94,10 +406,96 @@ public class CustomerController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCustomer(@PathVariable Long id) {
-        if (customerService.getCustomerById(id).isPresent()) {
-            customerService.deleteCustomer(id);
+        if (customerService.deleteCustomer(id)) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
+
+    /**
+     * Answer an update of a customer modified since the client read it.
+     *
+     * @return 412 Precondition Failed
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleOptimisticLockingFailure() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    /**
+     * Answer a poll of the change feed from a position whose next events were deleted.
+     *
+     * @return 410 Gone
+     */
+    @ExceptionHandler(ExpiredFeedPositionException.class)
+    public ResponseEntity<Void> handleExpiredFeedPosition() {
+        return ResponseEntity.status(HttpStatus.GONE).build();
+    }
+
+    /**
+     * Answer a merge patch that cannot be applied, such as one clearing a required field.
+     *
+     * @return 400 Bad Request
+     */
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<Void> handleInvalidPatch() {
+        return ResponseEntity.badRequest().build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> copyCustomers(CustomerFilterDTO filter, ExportFormat format,
+                                                                MediaType mediaType, String fileName,
+                                                                String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .headers(headers -> headers.setContentDisposition(ContentDisposition.attachment().filename(fileName).build()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            return response.body(outputStream -> customerService.copyCustomers(filter, format, outputStream));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .body(outputStream -> {
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE)) {
+                        customerService.copyCustomers(filter, format, gzip);
+                    }
+                });
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!GZIP.equalsIgnoreCase(parts[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ETags.isAny(ifMatch)) {
+            return null;
+        }
+        return ETags.parseVersion(ifMatch).orElseThrow(() -> new OptimisticLockingFailureException(
+                "Customer " + id + " cannot match " + ifMatch));
+    }
+
+    private static ResponseEntity<CustomerDTO> withETag(ResponseEntity.BodyBuilder builder, CustomerDTO customerDTO) {
+        if (customerDTO.getVersion() != null) {
+            builder.eTag(ETags.of(customerDTO.getVersion()));
+        }
+        return builder.body(customerDTO);
+    }
 }
@@ -0,0 +1,94 @@
+package com.customer.controller;
+
+import com.customer.dto.CustomerImportJobDTO;
+import com.customer.dto.CustomerImportRejectDTO;
+import com.customer.service.CustomerImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST controller for bulk imports of customer CSV files.
+ */
+@RestController
+@RequestMapping("/api/customers/imports")
+@RequiredArgsConstructor
+public class CustomerImportController {
+
+    private static final int MAX_REJECTS = 1000;
+
+    private final CustomerImportService customerImportService;
+
+    /**
+     * Start importing a CSV file of customers. The file has a header line, then one line
+     * per customer with the columns firstName, lastName, email, phone and status, in that
+     * order; phone and status may be empty. Poll the returned job for its progress.
+     *
+     * @param file the CSV file, sent as the multipart part "file"
+     * @return 202 with the pending job and its location, 400 if the file is empty,
+     *         or 503 if too many imports are already waiting
+     * @throws IOException if the file cannot be saved
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CustomerImportJobDTO> startImport(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        CustomerImportJobDTO job = customerImportService.startImport(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/customers/imports/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Get an import job, with its phase and progress.
+     *
+     * @param id the job ID
+     * @return the job DTO if found, or 404 if not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<CustomerImportJobDTO> getJob(@PathVariable Long id) {
+        return customerImportService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the rows of an import file that were not imported, in line order.
+     * Pass the line number of the last reject returned as afterLine to read the next ones.
+     *
+     * @param id the job ID
+     * @param afterLine the line after which to read, 0 for the first rejects
+     * @param limit the maximum number of rejects to return, capped at 1000
+     * @return the rejects, 404 if the job is not found, or 400 if the limit is below 1
+     */
+    @GetMapping("/{id}/rejects")
+    public ResponseEntity<List<CustomerImportRejectDTO>> getRejects(@PathVariable Long id,
+                                                                    @RequestParam(defaultValue = "0") long afterLine,
+                                                                    @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return customerImportService.getRejects(id, afterLine, Math.min(limit, MAX_REJECTS))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Answer an import that cannot be queued because too many are already waiting.
+     *
+     * @return 503 Service Unavailable
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleRejectedExecution() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.customer.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown by {@link DatabaseBulkheadDataSource} when no connection becomes available
+ * within the acquire timeout.
+ */
+public class DatabaseBulkheadFullException extends SQLTransientConnectionException {
+
+    public DatabaseBulkheadFullException(String reason) {
+        super(reason);
+    }
+}
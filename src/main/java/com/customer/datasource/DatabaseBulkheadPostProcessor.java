@@ -0,0 +1,27 @@
+package com.customer.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Puts a {@link DatabaseBulkheadDataSource} in front of every Hikari pool, the primary
+ * and, when enabled, the read replica, each sized to its own pool and waiting at most
+ * the pool's connection timeout. Enabled with customer.bulkhead.enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+            return new DatabaseBulkheadDataSource(pool, pool.getMaximumPoolSize(),
+                    Duration.ofMillis(pool.getConnectionTimeout()));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,27 @@
+package com.customer.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clears the connection test query of every Hikari pool, so that Hikari validates connections
+ * with the driver's JDBC4 isValid check, which it only does when no test query is set.
+ * A profile cannot unset the query of application.properties, so it enables this with
+ * customer.datasource.jdbc4-validation instead.
+ * Runs before initialization, after the pools are bound to their properties and before
+ * they can be wrapped by {@link DatabaseBulkheadPostProcessor}.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.datasource.jdbc4-validation", havingValue = "true")
+public class Jdbc4ValidationPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+            pool.setConnectionTestQuery(null);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,54 @@
+package com.customer.datasource;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+/**
+ * Sizes the connection pools from the CPU count when customer.datasource.pool-size.per-core is set,
+ * as cores * per-core + customer.datasource.pool-size.spindles, and keeps that many connections open.
+ * The size takes precedence over configuration files, but not over environment variables,
+ * system properties or command line arguments, so a deployment can still pin it.
+ */
+public class PoolSizeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY_SOURCE_NAME = "customerPoolSize";
+    static final String PER_CORE = "customer.datasource.pool-size.per-core";
+    static final String SPINDLES = "customer.datasource.pool-size.spindles";
+
+    private final int cores;
+
+    public PoolSizeEnvironmentPostProcessor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    PoolSizeEnvironmentPostProcessor(int cores) {
+        this.cores = cores;
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Integer perCore = environment.getProperty(PER_CORE, Integer.class);
+        if (perCore == null) {
+            return;
+        }
+        int poolSize = cores * perCore + environment.getProperty(SPINDLES, Integer.class, 0);
+        MapPropertySource poolSizeSource = new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of(
+                "spring.datasource.hikari.maximum-pool-size", poolSize,
+                "spring.datasource.hikari.minimum-idle", poolSize,
+                "customer.datasource.replica.hikari.maximum-pool-size", poolSize,
+                "customer.datasource.replica.hikari.minimum-idle", poolSize));
+
+        MutablePropertySources propertySources = environment.getPropertySources();
+        if (propertySources.contains(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME)) {
+            propertySources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, poolSizeSource);
+        } else {
+            propertySources.addFirst(poolSizeSource);
+        }
+    }
+}
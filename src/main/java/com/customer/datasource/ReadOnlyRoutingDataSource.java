@@ -0,0 +1,59 @@
+package com.customer.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource that sends read-only transactions to a replica and everything else to the primary.
+ * Connections are fetched lazily, on the first statement, so the read-only flag set by
+ * {@code @Transactional(readOnly = true)} is known before a pool is chosen.
+ * When the replica cannot hand out a connection, the read falls back to the primary.
+ * Each routing decision is counted in the {@value #ROUTE_METRIC} metric, tagged by target.
+ */
+public class ReadOnlyRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    static final String ROUTE_METRIC = "customer.datasource.route";
+
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        Counter primaryRoute = routeCounter(meterRegistry, "primary");
+        Counter replicaRoute = routeCounter(meterRegistry, "replica");
+        Counter fallbackRoute = routeCounter(meterRegistry, "primary-fallback");
+
+        setTargetDataSource(new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                primaryRoute.increment();
+                return super.getConnection();
+            }
+        });
+        setReadOnlyDataSource(new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                try {
+                    Connection connection = super.getConnection();
+                    replicaRoute.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    fallbackRoute.increment();
+                    return primary.getConnection();
+                }
+            }
+        });
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        afterPropertiesSet();
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder(ROUTE_METRIC)
+                .description("Connections handed out by the read-only routing data source")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
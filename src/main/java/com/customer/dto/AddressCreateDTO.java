@@ -0,0 +1,21 @@
+package com.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) for creating a new Address of a customer.
+ * Contains only the fields needed for address creation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressCreateDTO {
+    private String addressType;
+    private String street;
+    private String city;
+    private String state;
+    private String postalCode;
+    private String country;
+}
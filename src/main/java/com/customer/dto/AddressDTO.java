@@ -0,0 +1,22 @@
+package com.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) for Address entity.
+ * Used for transferring address data between layers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressDTO {
+    private Long id;
+    private String addressType;
+    private String street;
+    private String city;
+    private String state;
+    private String postalCode;
+    private String country;
+}
@@ -0,0 +1,21 @@
+package com.customer.dto;
+
+import com.customer.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) for the result of one item in a batch create.
+ * The index refers to the position of the item in the request,
+ * and the customer is only set when it was created.
+ * An item that fails validation is reported as INVALID, without failing the batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchResultDTO {
+    private int index;
+    private BatchItemStatus status;
+    private CustomerDTO customer;
+}
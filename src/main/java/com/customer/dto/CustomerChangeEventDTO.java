@@ -0,0 +1,26 @@
+package com.customer.dto;
+
+import com.customer.enums.CustomerEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * DTO (Data Transfer Object) for a published change of a customer.
+ * The customer is written as stored, in the shape of {@link CustomerDTO},
+ * and is null when the customer was deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChangeEventDTO {
+    private Long seq;
+    private Long customerId;
+    private CustomerEventType type;
+    private OffsetDateTime occurredAt;
+    @JsonRawValue
+    private String customer;
+}
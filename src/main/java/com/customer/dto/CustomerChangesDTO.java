@@ -0,0 +1,20 @@
+package com.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) for a page of the customer change feed.
+ * The next since value is the seq of the last event, or the requested one
+ * when there were no new events, so clients always poll again with it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChangesDTO {
+    private List<CustomerChangeEventDTO> events;
+    private long nextSince;
+}
@@ -1,6 +1,7 @@
 package com.customer.dto;
 
 import com.customer.enums.CustomerStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,4 +24,10 @@ public class CustomerDTO {
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
     private CustomerStatus status;
+
+    /**
+     * Sent as the ETag header instead of in the body.
+     */
+    @JsonIgnore
+    private Long version;
 }
\ No newline at end of file
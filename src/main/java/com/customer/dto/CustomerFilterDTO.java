@@ -0,0 +1,30 @@
+package com.customer.dto;
+
+import com.customer.enums.CustomerStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * DTO (Data Transfer Object) for filtering listed customers.
+ * Null fields do not filter; createdFrom is inclusive and createdTo exclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerFilterDTO {
+    private CustomerStatus status;
+    private OffsetDateTime createdFrom;
+    private OffsetDateTime createdTo;
+
+    /**
+     * Check whether no filter is set.
+     *
+     * @return true if every customer matches
+     */
+    public boolean isEmpty() {
+        return status == null && createdFrom == null && createdTo == null;
+    }
+}
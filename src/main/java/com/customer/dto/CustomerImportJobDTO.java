@@ -0,0 +1,29 @@
+package com.customer.dto;
+
+import com.customer.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * DTO (Data Transfer Object) for a bulk import of a customer CSV file.
+ * Bytes read show the progress of the copy; row counts are null until the job completes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportJobDTO {
+    private Long id;
+    private String fileName;
+    private ImportJobStatus status;
+    private long bytesTotal;
+    private long bytesRead;
+    private Long rowsRead;
+    private Long rowsImported;
+    private Long rowsRejected;
+    private String error;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime finishedAt;
+}
@@ -0,0 +1,18 @@
+package com.customer.dto;
+
+import com.customer.enums.ImportRejectReason;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) for a row of an import file that was not imported.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportRejectDTO {
+    private Long lineNumber;
+    private String email;
+    private ImportRejectReason reason;
+}
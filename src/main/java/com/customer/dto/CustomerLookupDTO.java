@@ -0,0 +1,19 @@
+package com.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) for looking up many customers at once, by ID and by email.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLookupDTO {
+    private List<Long> ids = new ArrayList<>();
+    private List<String> emails = new ArrayList<>();
+}
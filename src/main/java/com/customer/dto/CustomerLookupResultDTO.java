@@ -0,0 +1,21 @@
+package com.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) for the result of looking up many customers.
+ * Customers are listed once each, in the order they were first asked for:
+ * those asked by ID first, then those asked by email.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLookupResultDTO {
+    private List<CustomerDTO> customers;
+    private List<Long> missingIds;
+    private List<String> missingEmails;
+}
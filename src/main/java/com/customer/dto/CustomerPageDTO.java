@@ -0,0 +1,20 @@
+package com.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) for a page of customers.
+ * The customers are read-only {@link CustomerView}s, written in the same shape as {@link CustomerDTO}.
+ * The next cursor is null when there are no more customers to read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPageDTO {
+    private List<CustomerView> content;
+    private String nextCursor;
+}
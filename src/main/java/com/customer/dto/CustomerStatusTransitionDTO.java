@@ -0,0 +1,21 @@
+package com.customer.dto;
+
+import com.customer.enums.CustomerStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) for moving many customers to a status at once.
+ * The customers are chosen either by ID or by filter, never both.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerStatusTransitionDTO {
+    private CustomerStatus status;
+    private List<Long> ids;
+    private CustomerFilterDTO filter;
+}
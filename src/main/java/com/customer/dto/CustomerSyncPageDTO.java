@@ -0,0 +1,23 @@
+package com.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) for a page of customers changed or deleted since a sync position.
+ * The changed customers are written like in {@link CustomerPageDTO}. The next cursor is
+ * never null: clients keep it to sync again later, and read the next page at once while
+ * there are more changes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSyncPageDTO {
+    private List<CustomerView> changed;
+    private List<Long> deleted;
+    private String nextCursor;
+    private boolean hasMore;
+}
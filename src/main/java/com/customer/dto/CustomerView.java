@@ -0,0 +1,38 @@
+package com.customer.dto;
+
+import com.customer.enums.CustomerStatus;
+import com.customer.mapper.CustomerJsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Read-only view of a customer for listing, sync and export, built by the queries straight
+ * from the rows with a constructor expression, so no entity is loaded or copied. Written to
+ * JSON by {@link CustomerJsonSerializer}, in the same shape as {@link CustomerDTO}.
+ * The addresses are null when they were not asked for.
+ */
+@JsonSerialize(using = CustomerJsonSerializer.class)
+public record CustomerView(Long id, String firstName, String lastName, String email, String phone,
+                           OffsetDateTime createdAt, OffsetDateTime updatedAt, CustomerStatus status,
+                           List<AddressDTO> addresses) {
+
+    /**
+     * View without addresses, also used by JPQL constructor expressions.
+     */
+    public CustomerView(Long id, String firstName, String lastName, String email, String phone,
+                        OffsetDateTime createdAt, OffsetDateTime updatedAt, CustomerStatus status) {
+        this(id, firstName, lastName, email, phone, createdAt, updatedAt, status, null);
+    }
+
+    /**
+     * Get this view with the given addresses.
+     *
+     * @param addresses the addresses of the customer
+     * @return the view with the addresses
+     */
+    public CustomerView withAddresses(List<AddressDTO> addresses) {
+        return new CustomerView(id, firstName, lastName, email, phone, createdAt, updatedAt, status, addresses);
+    }
+}
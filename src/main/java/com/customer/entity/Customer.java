@@ -1,12 +1,16 @@
 package com.customer.entity;
 
 import com.customer.enums.CustomerStatus;
+import com.customer.util.EmailNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 /**
  * Entity representing a customer in the system.
@@ -20,7 +24,8 @@ import java.time.OffsetDateTime;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_id_seq")
+    @SequenceGenerator(name = "customers_id_seq", sequenceName = "customers_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -32,26 +37,56 @@ public class Customer {
     @Column(nullable = false, unique = true)
     private String email;
 
+    /**
+     * Email normalized for case-insensitive lookups, kept in step by {@link #setEmail(String)}.
+     */
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+
     private String phone;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
 
+    /**
+     * Incremented on every update, to detect concurrent changes.
+     */
+    @Version
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private CustomerStatus status = CustomerStatus.ACTIVE;
 
-    @PrePersist
-    protected void onCreate() {
-        createdAt = OffsetDateTime.now();
-        updatedAt = OffsetDateTime.now();
+    /**
+     * Addresses of the customer, loaded only when asked for.
+     */
+    @OneToMany(mappedBy = "customer")
+    @OrderBy("id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Address> addresses;
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = EmailNormalizer.normalize(email);
     }
 
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = OffsetDateTime.now();
+    /**
+     * Times are stamped with the database clock before saving, and updates are native
+     * statements setting updated_at = now(), since sync compares them with database times.
+     * The JVM clock only fills times left unset.
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = OffsetDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.customer.entity;
+
+import com.customer.enums.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Entity representing a bulk import of a customer CSV file.
+ * Maps to the 'customer_import_jobs' table created by Flyway migration.
+ */
+@Entity
+@Table(name = "customer_import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status;
+
+    @Column(name = "bytes_total", nullable = false)
+    private long bytesTotal;
+
+    @Column(name = "bytes_read", nullable = false)
+    private long bytesRead;
+
+    @Column(name = "rows_read")
+    private Long rowsRead;
+
+    @Column(name = "rows_imported")
+    private Long rowsImported;
+
+    @Column(name = "rows_rejected")
+    private Long rowsRejected;
+
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = OffsetDateTime.now();
+    }
+}
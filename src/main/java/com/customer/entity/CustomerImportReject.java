@@ -0,0 +1,38 @@
+package com.customer.entity;
+
+import com.customer.enums.ImportRejectReason;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a row of an import file that was not imported.
+ * Maps to the 'customer_import_rejects' table created by Flyway migration.
+ */
+@Entity
+@Table(name = "customer_import_rejects")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportReject {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    /**
+     * Line of the file, counting the header as line 1.
+     */
+    @Column(name = "line_number", nullable = false)
+    private Long lineNumber;
+
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportRejectReason reason;
+}
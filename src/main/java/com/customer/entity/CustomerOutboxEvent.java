@@ -0,0 +1,62 @@
+package com.customer.entity;
+
+import com.customer.enums.CustomerEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Entity representing a change of a customer, waiting to be published or already published.
+ * Maps to the 'customer_outbox' table created by Flyway migration.
+ */
+@Entity
+@Table(name = "customer_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOutboxEvent {
+
+    /**
+     * Order in which the event was written. Taken from the sequence one at a time, after the
+     * change it records, so the events of a customer are numbered in the order of its changes
+     * whichever instance writes them.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_outbox_id_seq")
+    @SequenceGenerator(name = "customer_outbox_id_seq", sequenceName = "customer_outbox_id_seq", allocationSize = 1)
+    private Long id;
+
+    /**
+     * Position in the change feed, assigned when the event is published.
+     */
+    private Long seq;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private CustomerEventType eventType;
+
+    /**
+     * The customer after the change as JSON, null for a deletion.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "published_at")
+    private OffsetDateTime publishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,27 @@
+package com.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Entity recording that a customer was deleted, for clients syncing changes.
+ * Maps to the 'customer_tombstones' table created by Flyway migration.
+ */
+@Entity
+@Table(name = "customer_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerTombstone {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private OffsetDateTime deletedAt;
+}
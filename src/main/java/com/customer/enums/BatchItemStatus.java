@@ -0,0 +1,10 @@
+package com.customer.enums;
+
+/**
+ * Enum representing the outcome of a single item in a batch request.
+ */
+public enum BatchItemStatus {
+  CREATED,
+  CONFLICT,
+  INVALID
+}
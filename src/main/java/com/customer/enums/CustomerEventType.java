@@ -0,0 +1,10 @@
+package com.customer.enums;
+
+/**
+ * Enum representing the kind of change recorded in a customer change event.
+ */
+public enum CustomerEventType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
@@ -0,0 +1,31 @@
+package com.customer.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Enum representing the orders in which customers can be listed.
+ */
+public enum CustomerSort {
+  ID("id"),
+  CREATED_AT("createdAt"),
+  CREATED_AT_DESC("-createdAt");
+
+  private final String parameter;
+
+  CustomerSort(String parameter) {
+    this.parameter = parameter;
+  }
+
+  /**
+   * Find the sort named by a request parameter.
+   *
+   * @param parameter the parameter value, for example "-createdAt"
+   * @return an Optional containing the sort, or empty if the value is unknown
+   */
+  public static Optional<CustomerSort> fromParameter(String parameter) {
+    return Arrays.stream(values())
+        .filter(sort -> sort.parameter.equals(parameter))
+        .findFirst();
+  }
+}
@@ -0,0 +1,15 @@
+package com.customer.enums;
+
+/**
+ * Enum representing the formats customers can be exported in with COPY.
+ */
+public enum ExportFormat {
+  /**
+   * Comma-separated values with a header line.
+   */
+  CSV,
+  /**
+   * PostgreSQL's binary COPY format, to load into another PostgreSQL with COPY ... FROM.
+   */
+  BINARY
+}
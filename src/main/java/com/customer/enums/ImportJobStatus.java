@@ -0,0 +1,12 @@
+package com.customer.enums;
+
+/**
+ * Enum representing the stages of a customer import job.
+ */
+public enum ImportJobStatus {
+  PENDING,
+  COPYING,
+  MERGING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,14 @@
+package com.customer.enums;
+
+/**
+ * Enum representing why a row of an import file was not imported.
+ */
+public enum ImportRejectReason {
+  INVALID_FIRST_NAME,
+  INVALID_LAST_NAME,
+  INVALID_EMAIL,
+  INVALID_PHONE,
+  INVALID_STATUS,
+  DUPLICATE_IN_FILE,
+  EMAIL_TAKEN
+}
@@ -0,0 +1,112 @@
+package com.customer.mapper;
+
+import com.customer.dto.AddressCreateDTO;
+import com.customer.dto.AddressDTO;
+import com.customer.dto.AddressUpdateDTO;
+import com.customer.entity.Address;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mapper class for converting between Address entity and DTOs.
+ * Uses Java's Function interface for mapping operations.
+ */
+@Component
+public class AddressMapper {
+
+    /**
+     * Function to convert Address entity to AddressDTO.
+     */
+    private final Function<Address, AddressDTO> addressToDtoMapper = address -> {
+        if (address == null) {
+            return null;
+        }
+
+        AddressDTO dto = new AddressDTO();
+        dto.setId(address.getId());
+        dto.setAddressType(address.getAddressType());
+        dto.setStreet(address.getStreet());
+        dto.setCity(address.getCity());
+        dto.setState(address.getState());
+        dto.setPostalCode(address.getPostalCode());
+        dto.setCountry(address.getCountry());
+        return dto;
+    };
+
+    /**
+     * Function to convert AddressCreateDTO to Address entity.
+     */
+    private final Function<AddressCreateDTO, Address> createDtoToEntityMapper = dto -> {
+        if (dto == null) {
+            return null;
+        }
+
+        Address address = new Address();
+        address.setAddressType(dto.getAddressType());
+        address.setStreet(dto.getStreet());
+        address.setCity(dto.getCity());
+        address.setState(dto.getState());
+        address.setPostalCode(dto.getPostalCode());
+        address.setCountry(dto.getCountry());
+        return address;
+    };
+
+    /**
+     * Convert Address entity to AddressDTO.
+     *
+     * @param address the address entity
+     * @return the address DTO
+     */
+    public AddressDTO toDTO(Address address) {
+        return addressToDtoMapper.apply(address);
+    }
+
+    /**
+     * Convert a list of Address entities to a list of AddressDTOs.
+     *
+     * @param addresses the list of address entities
+     * @return the list of address DTOs
+     */
+    public List<AddressDTO> toDTOList(List<Address> addresses) {
+        if (addresses == null) {
+            return null;
+        }
+        return addresses.stream()
+                .map(addressToDtoMapper)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Convert AddressCreateDTO to Address entity.
+     *
+     * @param addressCreateDTO the address create DTO
+     * @return the address entity
+     */
+    public Address toEntity(AddressCreateDTO addressCreateDTO) {
+        return createDtoToEntityMapper.apply(addressCreateDTO);
+    }
+
+    /**
+     * Update Address entity from AddressUpdateDTO.
+     *
+     * @param addressUpdateDTO the address update DTO
+     * @param address the address entity to update
+     * @return the updated address entity
+     */
+    public Address updateAddressFromDTO(AddressUpdateDTO addressUpdateDTO, Address address) {
+        if (addressUpdateDTO == null || address == null) {
+            return address;
+        }
+
+        address.setAddressType(addressUpdateDTO.getAddressType());
+        address.setStreet(addressUpdateDTO.getStreet());
+        address.setCity(addressUpdateDTO.getCity());
+        address.setState(addressUpdateDTO.getState());
+        address.setPostalCode(addressUpdateDTO.getPostalCode());
+        address.setCountry(addressUpdateDTO.getCountry());
+        return address;
+    }
+}
@@ -0,0 +1,54 @@
+package com.customer.mapper;
+
+import com.customer.dto.CustomerImportJobDTO;
+import com.customer.dto.CustomerImportRejectDTO;
+import com.customer.entity.CustomerImportJob;
+import com.customer.entity.CustomerImportReject;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mapper class for converting import jobs and their rejects to DTOs.
+ */
+@Component
+public class CustomerImportMapper {
+
+    /**
+     * Convert CustomerImportJob entity to CustomerImportJobDTO.
+     *
+     * @param job the import job
+     * @return the import job DTO
+     */
+    public CustomerImportJobDTO toDTO(CustomerImportJob job) {
+        if (job == null) {
+            return null;
+        }
+        return new CustomerImportJobDTO(job.getId(), job.getFileName(), job.getStatus(), job.getBytesTotal(),
+                job.getBytesRead(), job.getRowsRead(), job.getRowsImported(), job.getRowsRejected(), job.getError(),
+                job.getCreatedAt(), job.getFinishedAt());
+    }
+
+    /**
+     * Convert CustomerImportReject entity to CustomerImportRejectDTO.
+     *
+     * @param reject the reject
+     * @return the reject DTO
+     */
+    public CustomerImportRejectDTO toDTO(CustomerImportReject reject) {
+        if (reject == null) {
+            return null;
+        }
+        return new CustomerImportRejectDTO(reject.getLineNumber(), reject.getEmail(), reject.getReason());
+    }
+
+    /**
+     * Convert a list of CustomerImportReject entities to a list of CustomerImportRejectDTOs.
+     *
+     * @param rejects the list of rejects
+     * @return the list of reject DTOs
+     */
+    public List<CustomerImportRejectDTO> toDTOList(List<CustomerImportReject> rejects) {
+        return rejects.stream().map(this::toDTO).toList();
+    }
+}
@@ -0,0 +1,198 @@
+package com.customer.mapper;
+
+import com.customer.dto.AddressDTO;
+import com.customer.dto.CustomerView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Serializer that writes a {@link CustomerView} straight to JSON, without going through
+ * bean introspection. Produces the same output as serializing the CustomerDTO with the same
+ * ObjectMapper: field names are pre-encoded, and when dates are written as text, timestamps are
+ * formatted as ISO-8601 into a small buffer instead of a new String. With
+ * {@link SerializationFeature#WRITE_DATES_AS_TIMESTAMPS} enabled, or a time zone set on the
+ * mapper, timestamps are left to the mapper's own serializer. Used on read-only paths such as listing, sync and export.
+ * Addresses are written only when the view has them.
+ */
+@Component
+public class CustomerJsonSerializer extends StdSerializer<CustomerView> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString PHONE = new SerializedString("phone");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString ADDRESSES = new SerializedString("addresses");
+    private static final SerializableString ADDRESS_TYPE = new SerializedString("addressType");
+    private static final SerializableString STREET = new SerializedString("street");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString STATE = new SerializedString("state");
+    private static final SerializableString POSTAL_CODE = new SerializedString("postalCode");
+    private static final SerializableString COUNTRY = new SerializedString("country");
+
+    /**
+     * Longest supported timestamp: 2024-01-01T00:00:00.123456789+01:00
+     */
+    private static final int MAX_DATE_TIME_LENGTH = 35;
+
+    public CustomerJsonSerializer() {
+        super(CustomerView.class);
+    }
+
+    @Override
+    public void serialize(CustomerView customer, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject();
+
+        writeId(generator, customer.id());
+        writeString(generator, FIRST_NAME, customer.firstName());
+        writeString(generator, LAST_NAME, customer.lastName());
+        writeString(generator, EMAIL, customer.email());
+        writeString(generator, PHONE, customer.phone());
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                || provider.getConfig().hasExplicitTimeZone()) {
+            writeValue(generator, provider, CREATED_AT, customer.createdAt());
+            writeValue(generator, provider, UPDATED_AT, customer.updatedAt());
+        } else {
+            // One buffer for both timestamps of the customer
+            char[] buffer = new char[MAX_DATE_TIME_LENGTH];
+            writeDateTime(generator, buffer, CREATED_AT, customer.createdAt());
+            writeDateTime(generator, buffer, UPDATED_AT, customer.updatedAt());
+        }
+        writeString(generator, STATUS, customer.status() == null ? null : customer.status().name());
+
+        List<AddressDTO> addresses = customer.addresses();
+        if (addresses != null) {
+            generator.writeFieldName(ADDRESSES);
+            generator.writeStartArray();
+            for (AddressDTO address : addresses) {
+                writeAddress(generator, address);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeEndObject();
+    }
+
+    private static void writeAddress(JsonGenerator generator, AddressDTO address) throws IOException {
+        generator.writeStartObject();
+        writeId(generator, address.getId());
+        writeString(generator, ADDRESS_TYPE, address.getAddressType());
+        writeString(generator, STREET, address.getStreet());
+        writeString(generator, CITY, address.getCity());
+        writeString(generator, STATE, address.getState());
+        writeString(generator, POSTAL_CODE, address.getPostalCode());
+        writeString(generator, COUNTRY, address.getCountry());
+        generator.writeEndObject();
+    }
+
+    private static void writeId(JsonGenerator generator, Long id) throws IOException {
+        generator.writeFieldName(ID);
+        if (id == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(id);
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeValue(JsonGenerator generator, SerializerProvider provider, SerializableString name,
+                                   Object value) throws IOException {
+        generator.writeFieldName(name);
+        provider.defaultSerializeValue(value, generator);
+    }
+
+    private static void writeDateTime(JsonGenerator generator, char[] buffer, SerializableString name,
+                                      OffsetDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int length = formatIsoOffsetDateTime(value, buffer);
+        if (length < 0) {
+            generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+        } else {
+            generator.writeString(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Format a timestamp exactly like {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+     *
+     * @param value the timestamp to format
+     * @param buffer the buffer to write to, at least 35 characters long
+     * @return the number of characters written, or -1 if the year is outside 0-9999
+     *         or the offset has seconds, which the caller formats the slow way
+     */
+    static int formatIsoOffsetDateTime(OffsetDateTime value, char[] buffer) {
+        int year = value.getYear();
+        int offsetSeconds = value.getOffset().getTotalSeconds();
+        if (year < 0 || year > 9999 || offsetSeconds % 60 != 0) {
+            return -1;
+        }
+
+        int position = writeDigits(buffer, 0, year, 4);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(buffer, position, value.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(buffer, position, nano, digits);
+        }
+
+        if (offsetSeconds == 0) {
+            buffer[position++] = 'Z';
+        } else {
+            buffer[position++] = offsetSeconds < 0 ? '-' : '+';
+            int offsetMinutes = Math.abs(offsetSeconds) / 60;
+            position = writeDigits(buffer, position, offsetMinutes / 60, 2);
+            buffer[position++] = ':';
+            position = writeDigits(buffer, position, offsetMinutes % 60, 2);
+        }
+        return position;
+    }
+
+    private static int writeDigits(char[] buffer, int position, int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+}
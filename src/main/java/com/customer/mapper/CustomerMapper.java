@@ -34,6 +34,7 @@ public class CustomerMapper {
         dto.setCreatedAt(customer.getCreatedAt());
         dto.setUpdatedAt(customer.getUpdatedAt());
         dto.setStatus(customer.getStatus());
+        dto.setVersion(customer.getVersion());
         return dto;
     };
 
@@ -50,7 +51,9 @@ public class CustomerMapper {
         customer.setLastName(dto.getLastName());
         customer.setEmail(dto.getEmail());
         customer.setPhone(dto.getPhone());
-        customer.setStatus(dto.getStatus());
+        if (dto.getStatus() != null) {
+            customer.setStatus(dto.getStatus());
+        }
         return customer;
     };
 
@@ -0,0 +1,38 @@
+package com.customer.mapper;
+
+import com.customer.dto.CustomerChangeEventDTO;
+import com.customer.entity.CustomerOutboxEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mapper class for converting outbox events to change event DTOs.
+ */
+@Component
+public class CustomerOutboxEventMapper {
+
+    /**
+     * Convert CustomerOutboxEvent entity to CustomerChangeEventDTO.
+     *
+     * @param event the outbox event
+     * @return the change event DTO
+     */
+    public CustomerChangeEventDTO toDTO(CustomerOutboxEvent event) {
+        if (event == null) {
+            return null;
+        }
+        return new CustomerChangeEventDTO(event.getSeq(), event.getCustomerId(), event.getEventType(),
+                event.getCreatedAt(), event.getPayload());
+    }
+
+    /**
+     * Convert a list of CustomerOutboxEvent entities to a list of CustomerChangeEventDTOs.
+     *
+     * @param events the list of outbox events
+     * @return the list of change event DTOs
+     */
+    public List<CustomerChangeEventDTO> toDTOList(List<CustomerOutboxEvent> events) {
+        return events.stream().map(this::toDTO).toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.customer.mapper;
+
+import com.customer.enums.CustomerStatus;
+import com.customer.util.EmailNormalizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mapper class for converting a JSON Merge Patch (RFC 7396) of a customer into column values.
+ * Only the fields present in the patch are returned, so an UPDATE built from them
+ * leaves every other column untouched. A null value clears a field, which only
+ * the phone allows.
+ */
+@Component
+public class CustomerPatchMapper {
+
+    /**
+     * Convert a merge patch into the columns to set.
+     *
+     * @param patch the merge patch, a JSON object
+     * @return the new value of each changed column, in patch order
+     * @throws InvalidPatchException if the patch names an unknown or read-only field,
+     *         clears a required field, or holds a value of the wrong type
+     */
+    public Map<String, Object> toColumns(ObjectNode patch) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "firstName" -> columns.put("first_name", requiredText(field.getKey(), value));
+                case "lastName" -> columns.put("last_name", requiredText(field.getKey(), value));
+                case "email" -> {
+                    String email = requiredText(field.getKey(), value);
+                    columns.put("email", email);
+                    columns.put("email_normalized", EmailNormalizer.normalize(email));
+                }
+                case "phone" -> columns.put("phone", value.isNull() ? null : requiredText(field.getKey(), value));
+                case "status" -> columns.put("status", status(requiredText(field.getKey(), value)));
+                default -> throw new InvalidPatchException("Field cannot be patched: " + field.getKey());
+            }
+        }
+        return columns;
+    }
+
+    private static String requiredText(String field, JsonNode value) {
+        if (!value.isTextual()) {
+            throw new InvalidPatchException("Field must be a string: " + field);
+        }
+        return value.textValue();
+    }
+
+    private static String status(String value) {
+        return Arrays.stream(CustomerStatus.values())
+                .map(CustomerStatus::name)
+                .filter(value::equals)
+                .findFirst()
+                .orElseThrow(() -> new InvalidPatchException("Unknown status: " + value));
+    }
+}
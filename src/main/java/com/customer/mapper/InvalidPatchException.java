@@ -0,0 +1,11 @@
+package com.customer.mapper;
+
+/**
+ * Thrown by {@link CustomerPatchMapper} when a merge patch cannot be applied to a customer.
+ */
+public class InvalidPatchException extends RuntimeException {
+
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.customer.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while counting is started.
+ * A JDBC batch is prepared once, so it counts as one statement.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<long[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting the statements prepared on the current thread, from zero.
+     */
+    public void start() {
+        count.set(new long[1]);
+    }
+
+    /**
+     * Stop counting on the current thread.
+     *
+     * @return the number of statements prepared since {@link #start()}, 0 if counting was not started
+     */
+    public long stop() {
+        long[] current = count.get();
+        count.remove();
+        return current == null ? 0 : current[0];
+    }
+}
@@ -0,0 +1,114 @@
+package com.customer.outbox;
+
+import com.customer.dto.CustomerChangeEventDTO;
+import com.customer.dto.CustomerChangesDTO;
+import com.customer.mapper.CustomerOutboxEventMapper;
+import com.customer.repository.CustomerOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Long-poll feed of published customer change events.
+ * A poll with no new events is parked without holding a thread or a connection,
+ * and answered when the relay publishes events after its position, or with
+ * no events once the poll timeout runs out.
+ */
+@Component
+public class CustomerChangeFeed {
+
+    private final CustomerOutboxRepository customerOutboxRepository;
+    private final CustomerOutboxEventMapper customerOutboxEventMapper;
+    private final Duration pollTimeout;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    private record Waiter(long since, int limit, DeferredResult<CustomerChangesDTO> result) {
+    }
+
+    public CustomerChangeFeed(CustomerOutboxRepository customerOutboxRepository,
+                              CustomerOutboxEventMapper customerOutboxEventMapper,
+                              @Value("${customer.outbox.poll-timeout}") Duration pollTimeout) {
+        this.customerOutboxRepository = customerOutboxRepository;
+        this.customerOutboxEventMapper = customerOutboxEventMapper;
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * Wait for events published after a position of the feed.
+     *
+     * @param since the seq of the last event the client has read, 0 to read from the start
+     * @param limit the maximum number of events to return
+     * @return the events, answered at once if there already are some
+     * @throws ExpiredFeedPositionException if events after the position were deleted by the retention
+     */
+    public DeferredResult<CustomerChangesDTO> poll(long since, int limit) {
+        List<CustomerChangeEventDTO> events = read(since, limit);
+        checkRetained(since, events);
+
+        DeferredResult<CustomerChangesDTO> result = new DeferredResult<>(pollTimeout.toMillis(),
+                () -> new CustomerChangesDTO(List.of(), since));
+        if (!events.isEmpty()) {
+            result.setResult(page(events, since));
+            return result;
+        }
+        Waiter waiter = new Waiter(since, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        return result;
+    }
+
+    /**
+     * Answer the parked polls for which events have been published since.
+     * Polls at the same position share a single query.
+     */
+    public void dispatch() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Waiter>> waitersBySince = waiters.stream()
+                .collect(Collectors.groupingBy(Waiter::since));
+        waitersBySince.forEach((since, sameSince) -> {
+            int limit = sameSince.stream().mapToInt(Waiter::limit).max().orElseThrow();
+            List<CustomerChangeEventDTO> events = read(since, limit);
+            if (events.isEmpty()) {
+                return;
+            }
+            for (Waiter waiter : sameSince) {
+                waiter.result().setResult(page(events.subList(0, Math.min(waiter.limit(), events.size())), since));
+            }
+        });
+    }
+
+    /**
+     * A client that read up to a position is missing events when the oldest retained event
+     * comes later than the next one. Only checked when the events read do not follow
+     * on directly, which a client keeping up never hits.
+     */
+    private void checkRetained(long since, List<CustomerChangeEventDTO> events) {
+        if (since == 0 || (!events.isEmpty() && events.get(0).getSeq() == since + 1)) {
+            return;
+        }
+        long oldestSeq = customerOutboxRepository.findOldestRetainedSeq();
+        if (oldestSeq > since + 1) {
+            throw new ExpiredFeedPositionException(since, oldestSeq);
+        }
+    }
+
+    private List<CustomerChangeEventDTO> read(long since, int limit) {
+        return customerOutboxEventMapper.toDTOList(
+                customerOutboxRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit)));
+    }
+
+    private static CustomerChangesDTO page(List<CustomerChangeEventDTO> events, long since) {
+        long nextSince = events.isEmpty() ? since : events.get(events.size() - 1).getSeq();
+        return new CustomerChangesDTO(events, nextSince);
+    }
+}
@@ -0,0 +1,20 @@
+package com.customer.outbox;
+
+import com.customer.dto.CustomerChangeEventDTO;
+
+import java.util.List;
+
+/**
+ * Destination of published customer change events, such as a message broker.
+ * Events are delivered at least once and in seq order: a batch whose publication
+ * throws is delivered again on the next run of the relay.
+ */
+public interface CustomerEventSink {
+
+    /**
+     * Publish a batch of events.
+     *
+     * @param events the events, ordered by seq
+     */
+    void publish(List<CustomerChangeEventDTO> events);
+}
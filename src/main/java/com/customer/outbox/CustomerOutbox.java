@@ -0,0 +1,85 @@
+package com.customer.outbox;
+
+import com.customer.dto.CustomerDTO;
+import com.customer.entity.CustomerOutboxEvent;
+import com.customer.enums.CustomerEventType;
+import com.customer.repository.CustomerOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Records customer changes in the outbox table.
+ * Must be called in the transaction that makes the change, so an event is
+ * written if and only if the change commits; {@link CustomerOutboxRelay} publishes it later.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerOutbox {
+
+    private final CustomerOutboxRepository customerOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Record that a customer was created.
+     *
+     * @param customer the created customer
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(CustomerDTO customer) {
+        customerOutboxRepository.save(event(customer.getId(), CustomerEventType.CREATED, customer));
+    }
+
+    /**
+     * Record that many customers were created. The events are inserted with the
+     * next flush, in JDBC batches like the customers.
+     *
+     * @param customers the created customers
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<CustomerDTO> customers) {
+        customerOutboxRepository.saveAll(customers.stream()
+                .map(customer -> event(customer.getId(), CustomerEventType.CREATED, customer))
+                .toList());
+    }
+
+    /**
+     * Record that a customer was updated.
+     *
+     * @param customer the customer after the update
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(CustomerDTO customer) {
+        customerOutboxRepository.save(event(customer.getId(), CustomerEventType.UPDATED, customer));
+    }
+
+    /**
+     * Record that a customer was deleted.
+     *
+     * @param id the ID of the deleted customer
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long id) {
+        customerOutboxRepository.save(event(id, CustomerEventType.DELETED, null));
+    }
+
+    private CustomerOutboxEvent event(Long customerId, CustomerEventType eventType, CustomerDTO customer) {
+        CustomerOutboxEvent event = new CustomerOutboxEvent();
+        event.setCustomerId(customerId);
+        event.setEventType(eventType);
+        if (customer != null) {
+            try {
+                event.setPayload(objectMapper.writeValueAsString(customer));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return event;
+    }
+}
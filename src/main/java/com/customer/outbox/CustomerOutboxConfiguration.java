@@ -0,0 +1,31 @@
+package com.customer.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of the outbox relay and of the sink it publishes to, chosen with customer.outbox.sink.
+ */
+@Configuration
+@EnableScheduling
+public class CustomerOutboxConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.outbox.sink", havingValue = "file", matchIfMissing = true)
+    public CustomerEventSink fileCustomerEventSink(@Value("${customer.outbox.file-sink.path}") Path path,
+                                                   ObjectMapper objectMapper) {
+        return new FileCustomerEventSink(path, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.outbox.sink", havingValue = "memory")
+    public CustomerEventSink inMemoryCustomerEventSink() {
+        return new InMemoryCustomerEventSink();
+    }
+}
@@ -0,0 +1,85 @@
+package com.customer.outbox;
+
+import com.customer.entity.CustomerOutboxEvent;
+import com.customer.mapper.CustomerOutboxEventMapper;
+import com.customer.repository.CustomerOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Background relay publishing outbox events to the {@link CustomerEventSink} in batches.
+ * Each batch is published in one transaction that holds an advisory lock, so only one
+ * instance publishes at a time and feed positions become visible in order. If the sink
+ * fails, the transaction rolls back and the batch is published again on the next run.
+ */
+@Component
+public class CustomerOutboxRelay {
+
+    private final CustomerOutboxRepository customerOutboxRepository;
+    private final CustomerOutboxEventMapper customerOutboxEventMapper;
+    private final CustomerEventSink customerEventSink;
+    private final CustomerChangeFeed customerChangeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public CustomerOutboxRelay(CustomerOutboxRepository customerOutboxRepository,
+                               CustomerOutboxEventMapper customerOutboxEventMapper,
+                               CustomerEventSink customerEventSink,
+                               CustomerChangeFeed customerChangeFeed,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${customer.outbox.batch-size}") int batchSize,
+                               @Value("${customer.outbox.retention}") Duration retention) {
+        this.customerOutboxRepository = customerOutboxRepository;
+        this.customerOutboxEventMapper = customerOutboxEventMapper;
+        this.customerEventSink = customerEventSink;
+        this.customerChangeFeed = customerChangeFeed;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Publish pending events until none are left, then answer the polls waiting for them.
+     * Polls are also answered when another instance published the events.
+     */
+    @Scheduled(fixedDelayString = "${customer.outbox.relay-interval}")
+    public void relay() {
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published == batchSize);
+        customerChangeFeed.dispatch();
+    }
+
+    private int publishBatch() {
+        if (!customerOutboxRepository.tryLock(CustomerOutboxRepository.RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        List<CustomerOutboxEvent> events = customerOutboxRepository.publishPending(batchSize);
+        if (!events.isEmpty()) {
+            customerEventSink.publish(customerOutboxEventMapper.toDTOList(events.stream()
+                    .sorted(Comparator.comparing(CustomerOutboxEvent::getSeq))
+                    .toList()));
+        }
+        return events.size();
+    }
+
+    /**
+     * Delete events published longer ago than the retention, which clients of the
+     * change feed must poll within.
+     */
+    @Scheduled(fixedDelayString = "${customer.outbox.cleanup-interval}")
+    @Transactional
+    public void deletePublished() {
+        customerOutboxRepository.deletePublishedBefore(OffsetDateTime.now().minus(retention));
+    }
+}
@@ -0,0 +1,12 @@
+package com.customer.outbox;
+
+/**
+ * Thrown by {@link CustomerChangeFeed} when events after a poll's position were already
+ * deleted by the retention, so the client has missed changes and must resync.
+ */
+public class ExpiredFeedPositionException extends RuntimeException {
+
+    public ExpiredFeedPositionException(long since, long oldestSeq) {
+        super("Events after seq " + since + " were deleted, the oldest retained event is " + oldestSeq);
+    }
+}
@@ -0,0 +1,35 @@
+package com.customer.outbox;
+
+import com.customer.dto.CustomerChangeEventDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sink keeping published events in memory, for tests and local runs.
+ */
+public class InMemoryCustomerEventSink implements CustomerEventSink {
+
+    private final List<CustomerChangeEventDTO> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<CustomerChangeEventDTO> events) {
+        this.events.addAll(events);
+    }
+
+    /**
+     * Get the events published so far.
+     *
+     * @return a copy of the events, in publication order
+     */
+    public synchronized List<CustomerChangeEventDTO> getEvents() {
+        return List.copyOf(events);
+    }
+
+    /**
+     * Forget the events published so far.
+     */
+    public synchronized void clear() {
+        events.clear();
+    }
+}
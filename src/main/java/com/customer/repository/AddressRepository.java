@@ -0,0 +1,56 @@
+package com.customer.repository;
+
+import com.customer.entity.Address;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for Address entity.
+ * Provides CRUD operations and custom query methods for Address entity.
+ */
+@Repository
+public interface AddressRepository extends JpaRepository<Address, Long> {
+
+    /**
+     * Find the addresses of a customer, ordered by ID.
+     *
+     * @param customerId the customer ID
+     * @return the addresses of the customer
+     */
+    List<Address> findByCustomerIdOrderByIdAsc(Long customerId);
+
+    /**
+     * Find the addresses of several customers with a single query, ordered by ID.
+     *
+     * @param customerIds the customer IDs
+     * @return the addresses of the customers
+     */
+    List<Address> findByCustomerIdInOrderByIdAsc(Collection<Long> customerIds);
+
+    /**
+     * Find an address by ID, only if it belongs to the given customer.
+     *
+     * @param id the address ID
+     * @param customerId the customer ID
+     * @return an Optional containing the address if found
+     */
+    Optional<Address> findByIdAndCustomerId(Long id, Long customerId);
+
+    /**
+     * Delete an address of a customer in a single statement, without loading it first.
+     *
+     * @param id the address ID
+     * @param customerId the customer ID
+     * @return the number of deleted rows, 0 if the customer has no such address
+     */
+    @Modifying
+    @Query("DELETE FROM Address a WHERE a.id = :id AND a.customer.id = :customerId")
+    int deleteAddress(@Param("id") Long id, @Param("customerId") Long customerId);
+}
@@ -0,0 +1,86 @@
+package com.customer.repository;
+
+import com.customer.entity.CustomerImportJob;
+import com.customer.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Repository for bulk import jobs of customer CSV files.
+ * The updates are written while the import runs, each in its own short transaction,
+ * so that clients polling the job see its progress.
+ */
+@Repository
+public interface CustomerImportJobRepository extends JpaRepository<CustomerImportJob, Long> {
+
+    /**
+     * Record how much of the file was read.
+     *
+     * @param id the job ID
+     * @param bytesRead the number of bytes of the file read so far
+     * @return the number of updated jobs
+     */
+    @Modifying
+    @Query("UPDATE CustomerImportJob j SET j.bytesRead = :bytesRead WHERE j.id = :id")
+    int updateBytesRead(@Param("id") Long id, @Param("bytesRead") long bytesRead);
+
+    /**
+     * Move a job to another phase.
+     *
+     * @param id the job ID
+     * @param status the new status
+     * @return the number of updated jobs
+     */
+    @Modifying
+    @Query("UPDATE CustomerImportJob j SET j.status = :status WHERE j.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") ImportJobStatus status);
+
+    /**
+     * Record that a job completed.
+     *
+     * @param id the job ID
+     * @param bytesRead the size of the file
+     * @param rowsRead the number of rows in the file
+     * @param rowsImported the number of customers created
+     * @param rowsRejected the number of rows not imported
+     * @param finishedAt the completion time
+     * @return the number of updated jobs
+     */
+    @Modifying
+    @Query("""
+            UPDATE CustomerImportJob j
+            SET j.status = com.customer.enums.ImportJobStatus.COMPLETED, j.bytesRead = :bytesRead,
+                j.rowsRead = :rowsRead, j.rowsImported = :rowsImported, j.rowsRejected = :rowsRejected,
+                j.finishedAt = :finishedAt
+            WHERE j.id = :id
+            """)
+    int markCompleted(@Param("id") Long id,
+                      @Param("bytesRead") long bytesRead,
+                      @Param("rowsRead") long rowsRead,
+                      @Param("rowsImported") long rowsImported,
+                      @Param("rowsRejected") long rowsRejected,
+                      @Param("finishedAt") OffsetDateTime finishedAt);
+
+    /**
+     * Record that a job failed. Nothing of the file was imported.
+     *
+     * @param id the job ID
+     * @param error the reason of the failure
+     * @param finishedAt the failure time
+     * @return the number of updated jobs
+     */
+    @Modifying
+    @Query("""
+            UPDATE CustomerImportJob j
+            SET j.status = com.customer.enums.ImportJobStatus.FAILED, j.error = :error, j.finishedAt = :finishedAt
+            WHERE j.id = :id
+            """)
+    int markFailed(@Param("id") Long id,
+                   @Param("error") String error,
+                   @Param("finishedAt") OffsetDateTime finishedAt);
+}
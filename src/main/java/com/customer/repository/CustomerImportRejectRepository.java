@@ -0,0 +1,28 @@
+package com.customer.repository;
+
+import com.customer.entity.CustomerImportReject;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository for the rows of import files that were not imported.
+ */
+@Repository
+public interface CustomerImportRejectRepository extends JpaRepository<CustomerImportReject, Long> {
+
+    /**
+     * Find the rejects of a job after a line of its file.
+     *
+     * @param jobId the job ID
+     * @param lineNumber the line after which to read
+     * @param limit the maximum number of rejects
+     * @return the rejects ordered by line
+     */
+    @Transactional(readOnly = true)
+    List<CustomerImportReject> findByJobIdAndLineNumberGreaterThanOrderByLineNumberAsc(Long jobId, Long lineNumber,
+                                                                                        Limit limit);
+}
@@ -0,0 +1,179 @@
+package com.customer.repository;
+
+import com.customer.enums.CustomerStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Repository loading customer CSV files into the customers table in bulk.
+ * A file is copied with COPY into a staging table that lives until the end of the
+ * transaction, and then merged into customers with set-based statements, so the
+ * application never holds more than the copy buffer of the file in memory.
+ * All methods must be called in the same transaction.
+ */
+@Repository
+@Transactional(propagation = Propagation.MANDATORY)
+public class CustomerImportRepository {
+
+    /**
+     * The line numbers start at 2, after the header, so they match the lines of the file
+     * as long as no quoted value spans several lines.
+     */
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE customer_import_staging (
+                line_number BIGINT GENERATED ALWAYS AS IDENTITY (START WITH 2),
+                first_name TEXT,
+                last_name TEXT,
+                email TEXT,
+                phone TEXT,
+                status TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_INTO_STAGING = """
+            COPY customer_import_staging (first_name, last_name, email, phone, status)
+            FROM STDIN WITH (FORMAT csv, HEADER true)
+            """;
+
+    /**
+     * Why a staged row cannot be imported, or NULL if it can. Limits follow the customers columns.
+     */
+    private static final String REJECT_REASON = """
+            CASE
+                WHEN first_name IS NULL OR btrim(first_name) = '' OR length(first_name) > 100 THEN 'INVALID_FIRST_NAME'
+                WHEN last_name IS NULL OR btrim(last_name) = '' OR length(last_name) > 100 THEN 'INVALID_LAST_NAME'
+                WHEN email IS NULL OR length(email) > 255 OR email !~ '^[^@\\s]+@[^@\\s]+$' THEN 'INVALID_EMAIL'
+                WHEN length(phone) > 20 THEN 'INVALID_PHONE'
+                WHEN NULLIF(status, '') NOT IN (%s) THEN 'INVALID_STATUS'
+            END
+            """.formatted(Arrays.stream(CustomerStatus.values())
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ")));
+
+    private static final String REJECT_INVALID_ROWS = """
+            INSERT INTO customer_import_rejects (job_id, line_number, email, reason)
+            SELECT :jobId, line_number, email, reason
+            FROM (SELECT line_number, email, %s AS reason FROM customer_import_staging) checked
+            WHERE reason IS NOT NULL
+            """.formatted(REJECT_REASON);
+
+    /**
+     * Ids are taken from customers_id_seq in blocks of this size, as Hibernate's pooled
+     * optimizer does, since the sequence is incremented by it (see V4).
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    /**
+     * Insert the valid rows, keeping the first row of each email ignoring case, and write
+     * their CREATED events to the outbox in the same shape as the events written by the API.
+     * Rows whose email is already taken are skipped by ON CONFLICT, which covers both the
+     * email and the email_normalized unique indexes. Skipped rows are written as rejects.
+     * Each nextval reserves the block of ids up to its result, which is handed out to the
+     * next rows in line order. Rows are stamped with the start of this statement, the last
+     * of the import, rather than of the transaction, which started before the file was copied.
+     */
+    private static final String MERGE_INTO_CUSTOMERS = """
+            WITH valid AS (
+                SELECT line_number, first_name, last_name, email, lower(email) AS email_normalized,
+                       NULLIF(phone, '') AS phone, COALESCE(NULLIF(status, ''), 'ACTIVE') AS status
+                FROM customer_import_staging
+                WHERE (%1$s) IS NULL
+            ), chosen AS (
+                SELECT DISTINCT ON (email_normalized) *
+                FROM valid
+                ORDER BY email_normalized, line_number
+            ), numbered AS (
+                SELECT *, row_number() OVER (ORDER BY line_number) - 1 AS position
+                FROM chosen
+            ), blocks AS (
+                SELECT first_position, nextval('customers_id_seq') AS last_id
+                FROM generate_series(0, (SELECT count(*) - 1 FROM chosen), %2$d) AS first_position
+            ), inserted AS (
+                INSERT INTO customers (id, first_name, last_name, email, email_normalized, phone, status,
+                                       created_at, updated_at)
+                SELECT b.last_id - %2$d + 1 + n.position - b.first_position,
+                       n.first_name, n.last_name, n.email, n.email_normalized, n.phone, n.status,
+                       statement_timestamp(), statement_timestamp()
+                FROM numbered n
+                JOIN blocks b ON b.first_position = n.position - n.position %% %2$d
+                ORDER BY n.line_number
+                ON CONFLICT DO NOTHING
+                RETURNING id, first_name, last_name, email, email_normalized, phone, status, created_at, updated_at
+            ), events AS (
+                INSERT INTO customer_outbox (customer_id, event_type, payload)
+                SELECT id, 'CREATED', %3$s
+                FROM inserted
+            )
+            INSERT INTO customer_import_rejects (job_id, line_number, email, reason)
+            SELECT :jobId, v.line_number, v.email,
+                   CASE WHEN c.line_number IS NULL THEN 'DUPLICATE_IN_FILE' ELSE 'EMAIL_TAKEN' END
+            FROM valid v
+            LEFT JOIN chosen c ON c.line_number = v.line_number
+            WHERE c.line_number IS NULL
+               OR NOT EXISTS (SELECT 1 FROM inserted i WHERE i.email_normalized = v.email_normalized)
+            """.formatted(REJECT_REASON, ID_BLOCK_SIZE, CustomerOutboxRepository.CUSTOMER_PAYLOAD_SQL);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Create the staging table, dropped when the transaction ends.
+     */
+    public void createStagingTable() {
+        entityManager.createNativeQuery(CREATE_STAGING_TABLE).executeUpdate();
+    }
+
+    /**
+     * Copy a CSV file into the staging table. The file starts with a header line, followed
+     * by one line per customer with the columns firstName, lastName, email, phone and status;
+     * phone and status may be empty.
+     *
+     * @param csv the content of the file, read until its end
+     * @return the number of rows copied
+     */
+    public long copyIntoStaging(InputStream csv) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Write a reject for every staged row that is not a valid customer.
+     *
+     * @param jobId the import job the rejects belong to
+     * @return the number of rejected rows
+     */
+    public int rejectInvalidRows(Long jobId) {
+        return entityManager.createNativeQuery(REJECT_INVALID_ROWS)
+                .setParameter("jobId", jobId)
+                .executeUpdate();
+    }
+
+    /**
+     * Insert the valid staged rows into customers, and write a reject for every row
+     * repeating an email of an earlier row or of an existing customer.
+     *
+     * @param jobId the import job the rejects belong to
+     * @return the number of rows rejected by the merge
+     */
+    public int mergeIntoCustomers(Long jobId) {
+        return entityManager.createNativeQuery(MERGE_INTO_CUSTOMERS)
+                .setParameter("jobId", jobId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,104 @@
+package com.customer.repository;
+
+import com.customer.entity.CustomerOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Repository for customer change events in the outbox.
+ */
+@Repository
+public interface CustomerOutboxRepository extends JpaRepository<CustomerOutboxEvent, Long> {
+
+    /**
+     * Key of the advisory lock held by the relay publishing events,
+     * so that instances publish one batch at a time and seq follows commit order.
+     */
+    long RELAY_LOCK_KEY = 0x637573746f6d6572L;
+
+    /**
+     * SQL expression building the payload of an event from the columns of a customers row,
+     * in the shape of CustomerDTO, for events written by set-based statements.
+     */
+    String CUSTOMER_PAYLOAD_SQL = """
+            jsonb_build_object(
+                    'id', id, 'firstName', first_name, 'lastName', last_name, 'email', email,
+                    'phone', phone, 'createdAt', created_at, 'updatedAt', updated_at, 'status', status)""";
+
+    /**
+     * Take the relay lock until the end of the current transaction, without waiting.
+     *
+     * @param key the lock key
+     * @return true if the lock was taken, false if another relay holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLock(@Param("key") long key);
+
+    /**
+     * Publish the oldest unpublished events by assigning them the next feed positions,
+     * in the order they were written.
+     *
+     * @param limit the maximum number of events to publish
+     * @return the published events
+     */
+    @Query(value = """
+            UPDATE customer_outbox o
+            SET seq = pending.seq, published_at = now()
+            FROM (
+                SELECT id, nextval('customer_outbox_seq_seq') AS seq
+                FROM (SELECT id FROM customer_outbox WHERE seq IS NULL ORDER BY id LIMIT :limit) oldest
+            ) pending
+            WHERE o.id = pending.id
+            RETURNING o.*
+            """, nativeQuery = true)
+    List<CustomerOutboxEvent> publishPending(@Param("limit") int limit);
+
+    /**
+     * Find published events after a position of the change feed.
+     * Read on the primary: the relay dispatches polls as soon as it commits, before a
+     * replica may have the events.
+     *
+     * @param seq the position after which to read
+     * @param limit the maximum number of events
+     * @return the events ordered by position
+     */
+    @Transactional
+    List<CustomerOutboxEvent> findBySeqGreaterThanOrderBySeqAsc(Long seq, Limit limit);
+
+    /**
+     * Find the position of the oldest event still retained, or the next position to be
+     * published when every event was deleted. Read on the primary, like the feed.
+     *
+     * @return the oldest retained seq
+     */
+    @Transactional
+    @Query(value = """
+            SELECT COALESCE(
+                    (SELECT MIN(seq) FROM customer_outbox),
+                    (SELECT CASE WHEN is_called THEN last_value + 1 ELSE last_value END FROM customer_outbox_seq_seq))
+            """, nativeQuery = true)
+    long findOldestRetainedSeq();
+
+    /**
+     * Delete the events published before a point in time, as a prefix of the feed:
+     * every event up to the last one published before it, so no event is left behind
+     * an older deleted one.
+     *
+     * @param publishedBefore the point in time
+     * @return the number of deleted events
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM customer_outbox
+            WHERE seq <= (SELECT MAX(seq) FROM customer_outbox WHERE published_at < :publishedBefore)
+            """, nativeQuery = true)
+    int deletePublishedBefore(@Param("publishedBefore") OffsetDateTime publishedBefore);
+}
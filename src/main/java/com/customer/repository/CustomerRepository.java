@@ -1,31 +1,222 @@
 package com.customer.repository;
 
+import com.customer.dto.CustomerView;
 import com.customer.entity.Customer;
+import com.customer.util.EmailNormalizer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Customer entity.
  * Provides CRUD operations and custom query methods.
  */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer>,
+        CustomerRepositoryCustom {
     
     /**
-     * Find a customer by email address.
-     * 
-     * @param email the email address to search for
+     * Find a customer by email address, ignoring case.
+     * Looks up the normalized email, so the lookup is a single probe of its unique index.
+     *
+     * @param email the email address to search for, in any case
      * @return an Optional containing the customer if found
      */
-    Optional<Customer> findByEmail(String email);
-    
+    default Optional<Customer> findByEmail(String email) {
+        return findByEmailNormalized(EmailNormalizer.normalize(email));
+    }
+
+    /**
+     * Find a customer by normalized email address.
+     *
+     * @param emailNormalized the email address normalized by {@link EmailNormalizer}
+     * @return an Optional containing the customer if found
+     */
+    @Transactional(readOnly = true)
+    Optional<Customer> findByEmailNormalized(String emailNormalized);
+
+    /**
+     * Expected version that matches any version of a customer.
+     */
+    long ANY_VERSION = -1;
+
+    /**
+     * Overwrite the editable fields of a customer in a single statement, and increment its version.
+     * A null status keeps the current one, since the column is not nullable.
+     *
+     * @param id the customer ID
+     * @param expectedVersion the version the customer must still have, or {@link #ANY_VERSION}
+     * @param customer the new field values
+     * @return an Optional containing the updated customer, or empty if it does not exist
+     *         or no longer has the expected version
+     */
+    @Query(value = """
+            UPDATE customers
+            SET first_name = :#{#customer.firstName},
+                last_name = :#{#customer.lastName},
+                email = :#{#customer.email},
+                email_normalized = :#{#customer.emailNormalized},
+                phone = :#{#customer.phone},
+                status = COALESCE(:#{#customer.status?.name()}, status),
+                version = version + 1,
+                updated_at = now(),
+                change_xid = pg_current_xact_id()
+            WHERE id = :id
+              AND (:expectedVersion = -1 OR version = :expectedVersion)
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Customer> updateCustomer(@Param("id") Long id,
+                                      @Param("expectedVersion") long expectedVersion,
+                                      @Param("customer") Customer customer);
+
+    /**
+     * Find customers changed after a position ordered by (updated_at, id), for keyset paging
+     * in the first pass of a sync, as read-only views built straight from the rows.
+     * The update time is also bounded on its own, so the index scan starts at the position.
+     *
+     * @param updatedAt the update time of the last customer read
+     * @param id the ID of the last customer read
+     * @param limit the maximum number of customers
+     * @return the customers ordered by update time and ID
+     */
+    @Transactional
+    @Query("""
+            SELECT new com.customer.dto.CustomerView(c.id, c.firstName, c.lastName, c.email, c.phone,
+                                                     c.createdAt, c.updatedAt, c.status)
+            FROM Customer c
+            WHERE c.updatedAt >= :updatedAt
+              AND (c.updatedAt > :updatedAt OR c.id > :id)
+            ORDER BY c.updatedAt, c.id
+            """)
+    List<CustomerView> findChangedAfter(@Param("updatedAt") OffsetDateTime updatedAt,
+                                        @Param("id") long id,
+                                        Limit limit);
+
+    /**
+     * Find the current version of a customer, without loading it.
+     *
+     * @param id the customer ID
+     * @return an Optional containing the version, or empty if the customer does not exist
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT c.version FROM Customer c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Delete a customer by ID in a single statement, without loading it first.
+     *
+     * @param id the customer ID
+     * @return the number of deleted rows, 0 if the customer does not exist
+     */
+    @Modifying
+    @Query("DELETE FROM Customer c WHERE c.id = :id")
+    int deleteCustomerById(@Param("id") Long id);
+
+    /**
+     * Find the customers with any of the given IDs or normalized email addresses, in a single query.
+     * Arrays are bound as one parameter each, so the statement is the same for any number of values.
+     *
+     * @param ids the customer IDs
+     * @param emails the email addresses, normalized by {@link EmailNormalizer}
+     * @return the customers found, in no particular order
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT * FROM customers WHERE id = ANY(:ids) OR email_normalized = ANY(:emails)",
+            nativeQuery = true)
+    List<Customer> findByIdsOrEmails(@Param("ids") Long[] ids, @Param("emails") String[] emails);
+
+    /**
+     * Find which of the given normalized email addresses are already taken.
+     *
+     * @param emails the email addresses to check, normalized by {@link EmailNormalizer}
+     * @return the subset of the email addresses that belong to a customer
+     */
+    @Query("SELECT c.emailNormalized FROM Customer c WHERE c.emailNormalized IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find the customers that come after the given id, ordered by id, as read-only views.
+     * Seeks on the primary key so every page costs the same regardless of its position.
+     * Views are built straight from the rows, without entities.
+     *
+     * @param id the last id of the previous page (exclusive)
+     * @param limit the maximum number of customers to return
+     * @return the customers with an id greater than the given one
+     */
+    @Query("""
+            SELECT new com.customer.dto.CustomerView(c.id, c.firstName, c.lastName, c.email, c.phone,
+                                                     c.createdAt, c.updatedAt, c.status)
+            FROM Customer c
+            WHERE c.id > :id
+            ORDER BY c.id
+            """)
+    List<CustomerView> findViewsAfterId(@Param("id") long id, Limit limit);
+
+    /**
+     * Search query behind {@link #searchCustomers}. Each condition is served by one of the
+     * trigram indexes, and matches are ranked by how similar the best matching column is.
+     */
+    String SEARCH_CUSTOMERS_QUERY = """
+            SELECT * FROM customers
+            WHERE first_name ILIKE :pattern
+               OR last_name ILIKE :pattern
+               OR email ILIKE :pattern
+               OR (:digits <> '' AND regexp_replace(phone, '[^0-9]', '', 'g') LIKE '%' || :digits || '%')
+            ORDER BY GREATEST(
+                        similarity(first_name, :query),
+                        similarity(last_name, :query),
+                        similarity(email, :query),
+                        similarity(regexp_replace(phone, '[^0-9]', '', 'g'), :digits)) DESC,
+                     id
+            LIMIT :limit
+            """;
+
+    /**
+     * Search customers by a fragment of their first name, last name, email or phone digits.
+     *
+     * @param query the text searched for, used for ranking
+     * @param pattern the ILIKE pattern matching the text anywhere in a column
+     * @param digits the digits of the text to match against phones, or empty to skip phones
+     * @param limit the maximum number of customers to return
+     * @return the matching customers, best match first
+     */
+    @Query(value = SEARCH_CUSTOMERS_QUERY, nativeQuery = true)
+    List<Customer> searchCustomers(@Param("query") String query,
+                                   @Param("pattern") String pattern,
+                                   @Param("digits") String digits,
+                                   @Param("limit") int limit);
+
     /**
-     * Check if a customer exists with the given email.
-     * 
-     * @param email the email address to check
-     * @return true if a customer exists with the email, false otherwise
+     * Stream all customers ordered by ID through a forward-only cursor, as read-only views.
+     * Rows are fetched from the server in chunks, so the stream must be consumed
+     * and closed inside a transaction. Views are not managed entities, so the persistence
+     * context does not grow while the stream is read.
+     *
+     * @return a stream of all customers
      */
-    boolean existsByEmail(String email);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.customer.dto.CustomerView(c.id, c.firstName, c.lastName, c.email, c.phone,
+                                                     c.createdAt, c.updatedAt, c.status)
+            FROM Customer c ORDER BY c.id
+            """)
+    Stream<CustomerView> streamAllOrderById();
 }
\ No newline at end of file
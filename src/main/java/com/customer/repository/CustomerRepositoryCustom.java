@@ -0,0 +1,137 @@
+package com.customer.repository;
+
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerView;
+import com.customer.entity.Customer;
+import com.customer.enums.CustomerStatus;
+import com.customer.enums.ExportFormat;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom repository methods for Customer entity that need a query built at runtime
+ * or a typed native result.
+ */
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Outcome of one chunk of a status transition.
+     *
+     * @param lastId the ID of the last customer of the chunk, or null if no customer was left to transition
+     * @param transitionedIds the IDs of the customers whose status changed, in ID order
+     */
+    record StatusTransitionChunk(Long lastId, List<Long> transitionedIds) {
+    }
+
+    /**
+     * Customer read by a sync pass after the first.
+     *
+     * @param customer the customer as it is now
+     * @param xid the ID of the transaction that last changed it
+     */
+    record CustomerChange(CustomerView customer, long xid) {
+    }
+
+    /**
+     * Find the customers matching a specification, in the given order, as read-only views
+     * built straight from the rows, without entities.
+     *
+     * @param specification the conditions the customers must meet
+     * @param sort the order of the customers
+     * @param limit the maximum number of customers to return
+     * @return the matching customers
+     */
+    List<CustomerView> findViews(Specification<Customer> specification, Sort sort, int limit);
+
+    /**
+     * Insert a customer unless its email is already taken in any case, in a single statement.
+     * Replaces a separate existence check, which costs a round trip and races
+     * with concurrent inserts of the same email.
+     * The id is taken from the pooled sequence generator of the entity, like the ids of
+     * batch inserts, so each insert uses one id rather than a whole block.
+     *
+     * @param customer the customer to insert
+     * @return an Optional containing the inserted customer, or empty if the email is taken
+     */
+    Optional<Customer> insertIfEmailAbsent(Customer customer);
+
+    /**
+     * Set the given columns of a customer in a single statement, and increment its version.
+     * The UPDATE lists only these columns, so the others are neither rewritten nor reindexed.
+     *
+     * @param id the customer ID
+     * @param expectedVersion the version the customer must still have, or {@link CustomerRepository#ANY_VERSION}
+     * @param columns the new value of each column to change, keyed by column name; must not be empty
+     * @return an Optional containing the updated customer, or empty if it does not exist
+     *         or no longer has the expected version
+     */
+    Optional<Customer> patchCustomer(Long id, long expectedVersion, Map<String, Object> columns);
+
+    /**
+     * Write the customers matching a filter, ordered by ID, straight from the database with
+     * COPY ... TO STDOUT. Rows are copied as bytes and never read into objects.
+     *
+     * @param filter the filters
+     * @param format the format to write
+     * @param outputStream the stream to write to, left open when done
+     * @return the number of customers written
+     * @throws IOException if writing to the stream fails
+     */
+    long copyCustomers(CustomerFilterDTO filter, ExportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Move the next chunk of customers to a status in a single statement, and record an
+     * UPDATED event for each in the outbox. Customers already in the status are not changed.
+     * The filter is checked again on each row as it is updated, so customers changed
+     * concurrently are skipped rather than overwritten.
+     *
+     * @param status the status to move to
+     * @param filter the filters the customers must pass
+     * @param ids the IDs the customers must have, or null for any
+     * @param afterId the ID after which the chunk starts
+     * @param limit the maximum number of customers in the chunk
+     * @return the last ID of the chunk and the IDs of the customers that changed
+     */
+    StatusTransitionChunk transitionStatus(CustomerStatus status, CustomerFilterDTO filter, Long[] ids,
+                                           long afterId, int limit);
+
+    /**
+     * Read the database time of the current transaction, the time native statements stamp
+     * with now(), so rows written through JPA carry a time from the same clock.
+     *
+     * @return the start time of the current transaction on the database
+     */
+    OffsetDateTime findTransactionTime();
+
+    /**
+     * Take a snapshot of the transactions running on the database, in its text form.
+     * Changes made by transactions the snapshot does not see are returned by the next
+     * sync pass. Must be called on the primary.
+     *
+     * @return the current snapshot, as xmin:xmax:xip_list
+     */
+    String findCurrentSnapshot();
+
+    /**
+     * Find the customers last changed by the transactions seen by one snapshot and not by
+     * another, after a position ordered by (change_xid, id), for keyset paging in a sync pass,
+     * as read-only views built straight from the rows.
+     * A customer changed again by a transaction the second snapshot does not see is left
+     * for the next pass.
+     *
+     * @param from the snapshot the previous pass ended at
+     * @param to the snapshot this pass ends at
+     * @param xid the transaction ID of the last customer read
+     * @param id the ID of the last customer read
+     * @param limit the maximum number of customers
+     * @return the customers with the transaction of their last change, ordered by transaction ID and ID
+     */
+    List<CustomerChange> findChangedBetween(String from, String to, long xid, long id, int limit);
+}
@@ -0,0 +1,324 @@
+package com.customer.repository;
+
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerView;
+import com.customer.entity.Customer;
+import com.customer.enums.CustomerStatus;
+import com.customer.enums.ExportFormat;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.NativeQuery;
+import org.postgresql.PGConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of {@link CustomerRepositoryCustom}.
+ */
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    /**
+     * Columns that can be patched. Column names are written into the statement,
+     * so they are checked against this list and never taken from the request as-is.
+     */
+    private static final Set<String> PATCHABLE_COLUMNS =
+            Set.of("first_name", "last_name", "email", "email_normalized", "phone", "status");
+
+    /**
+     * Insert of a single customer with an id taken from the entity's generator,
+     * never from the column default, see {@link #insertIfEmailAbsent}.
+     */
+    private static final String INSERT_IF_EMAIL_ABSENT_SQL = """
+            INSERT INTO customers (id, first_name, last_name, email, email_normalized, phone, status,
+                                   created_at, updated_at)
+            VALUES (:id, :firstName, :lastName, :email, :emailNormalized, :phone, :status, now(), now())
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """;
+
+    /**
+     * Columns written by {@link #copyCustomers}, in the order of the fields of CustomerDTO.
+     */
+    private static final String EXPORT_COLUMNS =
+            "id, first_name, last_name, email, phone, created_at, updated_at, status";
+
+    /**
+     * Size of the buffer rows are gathered in before being written, so the output stream
+     * sees a few large writes instead of one per row.
+     */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Customers changed by the transactions seen by :to and not by :from, see
+     * {@link #findChangedBetween}. The bounds on change_xid alone limit the index scan.
+     */
+    private static final String CHANGED_BETWEEN_SQL = """
+            SELECT id, first_name, last_name, email, phone, created_at, updated_at, status,
+                   CAST(CAST(change_xid AS text) AS bigint) AS xid
+            FROM customers
+            WHERE change_xid >= pg_snapshot_xmin(CAST(:from AS pg_snapshot))
+              AND change_xid < pg_snapshot_xmax(CAST(:to AS pg_snapshot))
+              AND (change_xid, id) > (CAST(CAST(:xid AS text) AS xid8), :id)
+              AND NOT pg_visible_in_snapshot(change_xid, CAST(:from AS pg_snapshot))
+              AND pg_visible_in_snapshot(change_xid, CAST(:to AS pg_snapshot))
+            ORDER BY change_xid, id
+            LIMIT :limit
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CustomerView> findViews(Specification<Customer> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CustomerView> query = criteriaBuilder.createQuery(CustomerView.class);
+        Root<Customer> root = query.from(Customer.class);
+        query.select(criteriaBuilder.construct(CustomerView.class, root.get("id"), root.get("firstName"),
+                root.get("lastName"), root.get("email"), root.get("phone"), root.get("createdAt"),
+                root.get("updatedAt"), root.get("status")));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<Customer> insertIfEmailAbsent(Customer customer) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Customer.class)
+                .getGenerator();
+        Object id = generator.generate(session, customer, null, EventType.INSERT);
+
+        @SuppressWarnings("unchecked")
+        List<Customer> customers = entityManager.createNativeQuery(INSERT_IF_EMAIL_ABSENT_SQL, Customer.class)
+                .setParameter("id", id)
+                .setParameter("firstName", customer.getFirstName())
+                .setParameter("lastName", customer.getLastName())
+                .setParameter("email", customer.getEmail())
+                .setParameter("emailNormalized", customer.getEmailNormalized())
+                .setParameter("phone", customer.getPhone())
+                .setParameter("status", customer.getStatus().name())
+                .getResultList();
+        return customers.stream().findFirst();
+    }
+
+    @Override
+    public Optional<Customer> patchCustomer(Long id, long expectedVersion, Map<String, Object> columns) {
+        Query query = entityManager.createNativeQuery(buildPatchSql(columns.keySet()), Customer.class);
+        int index = 0;
+        for (Object value : columns.values()) {
+            query.setParameter("value" + index++, value);
+        }
+        query.setParameter("id", id);
+        query.setParameter("expectedVersion", expectedVersion);
+
+        @SuppressWarnings("unchecked")
+        List<Customer> customers = query.getResultList();
+        return customers.stream().findFirst();
+    }
+
+    static String buildPatchSql(Collection<String> columns) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No columns to patch");
+        }
+        StringBuilder sql = new StringBuilder("UPDATE customers SET ");
+        int index = 0;
+        for (String column : columns) {
+            if (!PATCHABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Column cannot be patched: " + column);
+            }
+            sql.append(column).append(" = :value").append(index++).append(", ");
+        }
+        return sql.append("version = version + 1, updated_at = now(), change_xid = pg_current_xact_id() ")
+                .append("WHERE id = :id AND (:expectedVersion = -1 OR version = :expectedVersion) ")
+                .append("RETURNING *")
+                .toString();
+    }
+
+    @Override
+    public long copyCustomers(CustomerFilterDTO filter, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+        String sql = buildCopySql(filter, format);
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try {
+                    BufferedOutputStream buffered = new BufferedOutputStream(outputStream, COPY_BUFFER_SIZE);
+                    long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, buffered);
+                    buffered.flush();
+                    return rows;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * COPY takes no bind parameters, so the filters are written into the statement.
+     * They are written from an enum name and instants, which cannot contain quotes.
+     */
+    static String buildCopySql(CustomerFilterDTO filter, ExportFormat format) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            conditions.add("status = '" + filter.getStatus().name() + "'");
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions.add("created_at >= '" + filter.getCreatedFrom().toInstant() + "'");
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions.add("created_at < '" + filter.getCreatedTo().toInstant() + "'");
+        }
+        StringBuilder sql = new StringBuilder("COPY (SELECT ").append(EXPORT_COLUMNS).append(" FROM customers");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY id) TO STDOUT WITH (")
+                .append(format == ExportFormat.CSV ? "FORMAT csv, HEADER true" : "FORMAT binary")
+                .append(")")
+                .toString();
+    }
+
+    @Override
+    public StatusTransitionChunk transitionStatus(CustomerStatus status, CustomerFilterDTO filter, Long[] ids,
+                                                  long afterId, int limit) {
+        Query query = entityManager.createNativeQuery(buildStatusTransitionSql(filter, ids != null));
+        query.setParameter("status", status.name());
+        query.setParameter("afterId", afterId);
+        query.setParameter("limit", limit);
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+        if (filter.getStatus() != null) {
+            query.setParameter("currentStatus", filter.getStatus().name());
+        }
+        if (filter.getCreatedFrom() != null) {
+            query.setParameter("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            query.setParameter("createdTo", filter.getCreatedTo());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return new StatusTransitionChunk(null, List.of());
+        }
+        List<Long> transitionedIds = rows.stream()
+                .filter(row -> (Boolean) row[1])
+                .map(row -> ((Number) row[0]).longValue())
+                .toList();
+        return new StatusTransitionChunk(((Number) rows.get(rows.size() - 1)[0]).longValue(), transitionedIds);
+    }
+
+    /**
+     * The chunk is chosen by a keyset scan on ID, and the conditions are repeated on the
+     * UPDATE, where PostgreSQL checks them again on rows changed since the scan.
+     */
+    static String buildStatusTransitionSql(CustomerFilterDTO filter, boolean byIds) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("status <> :status");
+        if (byIds) {
+            conditions.add("id = ANY(:ids)");
+        }
+        if (filter.getStatus() != null) {
+            conditions.add("status = :currentStatus");
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions.add("created_at >= :createdFrom");
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions.add("created_at < :createdTo");
+        }
+        String matching = String.join(" AND ", conditions);
+        return """
+                WITH chunk AS (
+                    SELECT id FROM customers
+                    WHERE id > :afterId AND %s
+                    ORDER BY id
+                    LIMIT :limit
+                ), transitioned AS (
+                    UPDATE customers
+                    SET status = :status, version = version + 1, updated_at = now(),
+                        change_xid = pg_current_xact_id()
+                    WHERE id IN (SELECT id FROM chunk) AND %s
+                    RETURNING *
+                ), events AS (
+                    INSERT INTO customer_outbox (customer_id, event_type, payload)
+                    SELECT id, 'UPDATED', %s
+                    FROM transitioned
+                )
+                SELECT chunk.id, transitioned.id IS NOT NULL AS changed
+                FROM chunk
+                LEFT JOIN transitioned ON transitioned.id = chunk.id
+                ORDER BY chunk.id
+                """.formatted(matching, matching, CustomerOutboxRepository.CUSTOMER_PAYLOAD_SQL);
+    }
+
+    @Override
+    public OffsetDateTime findTransactionTime() {
+        return (OffsetDateTime) entityManager.createNativeQuery("SELECT now()", OffsetDateTime.class)
+                .getSingleResult();
+    }
+
+    @Override
+    public String findCurrentSnapshot() {
+        return (String) entityManager.createNativeQuery("SELECT CAST(pg_current_snapshot() AS text)", String.class)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<CustomerChange> findChangedBetween(String from, String to, long xid, long id, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(CHANGED_BETWEEN_SQL)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("xid", xid)
+                .setParameter("id", id)
+                .setParameter("limit", limit)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("first_name", String.class)
+                .addScalar("last_name", String.class)
+                .addScalar("email", String.class)
+                .addScalar("phone", String.class)
+                .addScalar("created_at", OffsetDateTime.class)
+                .addScalar("updated_at", OffsetDateTime.class)
+                .addScalar("status", String.class)
+                .addScalar("xid", Long.class)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new CustomerChange(new CustomerView((Long) row[0], (String) row[1], (String) row[2],
+                        (String) row[3], (String) row[4], (OffsetDateTime) row[5], (OffsetDateTime) row[6],
+                        CustomerStatus.valueOf((String) row[7])), (Long) row[8]))
+                .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package com.customer.repository;
+
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.entity.Customer;
+import com.customer.enums.CustomerSort;
+import com.customer.util.CursorCodec.Position;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications for listing customers with optional filters and keyset paging.
+ * Filters on status and creation time, ordered by (created_at, id), are served by
+ * the idx_customers_status_created_at_id index.
+ */
+public final class CustomerSpecifications {
+
+    private CustomerSpecifications() {
+    }
+
+    /**
+     * Match the customers that pass every filter that is set.
+     *
+     * @param filter the filters
+     * @return the specification
+     */
+    public static Specification<Customer> matching(CustomerFilterDTO filter) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            Path<OffsetDateTime> createdAt = root.get("createdAt");
+            if (filter.getStatus() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(createdAt, filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(createdAt, filter.getCreatedTo()));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Match the customers that come after the given position in the given order.
+     * The creation time is also bounded on its own, so the index scan starts at the position
+     * instead of filtering every row before it.
+     *
+     * @param sort the order of the listing
+     * @param after the last customer of the previous page
+     * @return the specification
+     */
+    public static Specification<Customer> after(CustomerSort sort, Position after) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> id = root.get("id");
+            Path<OffsetDateTime> createdAt = root.get("createdAt");
+            return switch (sort) {
+                case ID -> criteriaBuilder.greaterThan(id, after.id());
+                case CREATED_AT -> criteriaBuilder.and(
+                        criteriaBuilder.greaterThanOrEqualTo(createdAt, after.createdAt()),
+                        criteriaBuilder.or(
+                                criteriaBuilder.greaterThan(createdAt, after.createdAt()),
+                                criteriaBuilder.greaterThan(id, after.id())));
+                case CREATED_AT_DESC -> criteriaBuilder.and(
+                        criteriaBuilder.lessThanOrEqualTo(createdAt, after.createdAt()),
+                        criteriaBuilder.or(
+                                criteriaBuilder.lessThan(createdAt, after.createdAt()),
+                                criteriaBuilder.lessThan(id, after.id())));
+            };
+        };
+    }
+
+    /**
+     * Get the ordering of a listing, with the ID breaking ties.
+     *
+     * @param sort the order of the listing
+     * @return the Spring Data sort
+     */
+    public static Sort orderBy(CustomerSort sort) {
+        return switch (sort) {
+            case ID -> Sort.by("id");
+            case CREATED_AT -> Sort.by("createdAt", "id");
+            case CREATED_AT_DESC -> Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        };
+    }
+}
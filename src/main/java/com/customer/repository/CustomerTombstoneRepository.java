@@ -0,0 +1,93 @@
+package com.customer.repository;
+
+import com.customer.entity.CustomerTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Repository for tombstones of deleted customers.
+ */
+@Repository
+public interface CustomerTombstoneRepository extends JpaRepository<CustomerTombstone, Long> {
+
+    /**
+     * Record that a customer was deleted, in a single statement.
+     *
+     * @param customerId the ID of the deleted customer
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_tombstones (customer_id, deleted_at)
+            VALUES (:customerId, now())
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertTombstone(@Param("customerId") Long customerId);
+
+    /**
+     * Tombstone read by a sync pass after the first, with the transaction that wrote it.
+     */
+    interface TombstoneChange {
+
+        Long getCustomerId();
+
+        long getXid();
+    }
+
+    /**
+     * Find tombstones after a position ordered by (deleted_at, customer_id), for keyset paging
+     * in the first pass of a sync.
+     *
+     * @param deletedAt the deletion time of the last tombstone read
+     * @param customerId the customer ID of the last tombstone read
+     * @param limit the maximum number of tombstones
+     * @return the tombstones ordered by deletion time and customer ID
+     */
+    @Transactional
+    @Query(value = """
+            SELECT * FROM customer_tombstones
+            WHERE (deleted_at, customer_id) > (:deletedAt, :customerId)
+            ORDER BY deleted_at, customer_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CustomerTombstone> findDeletedAfter(@Param("deletedAt") OffsetDateTime deletedAt,
+                                             @Param("customerId") long customerId,
+                                             @Param("limit") int limit);
+
+    /**
+     * Find the tombstones written by the transactions seen by one snapshot and not by another,
+     * after a position ordered by (change_xid, customer_id), for keyset paging in a sync pass.
+     * The index scan is bounded by the oldest transaction the first snapshot may not have seen
+     * and the first transaction the second snapshot cannot see.
+     *
+     * @param from the snapshot the previous pass ended at
+     * @param to the snapshot this pass ends at
+     * @param xid the transaction ID of the last tombstone read
+     * @param customerId the customer ID of the last tombstone read
+     * @param limit the maximum number of tombstones
+     * @return the tombstones ordered by transaction ID and customer ID
+     */
+    @Transactional
+    @Query(value = """
+            SELECT customer_id AS "customerId", CAST(CAST(change_xid AS text) AS bigint) AS "xid"
+            FROM customer_tombstones
+            WHERE change_xid >= pg_snapshot_xmin(CAST(:from AS pg_snapshot))
+              AND change_xid < pg_snapshot_xmax(CAST(:to AS pg_snapshot))
+              AND (change_xid, customer_id) > (CAST(CAST(:xid AS text) AS xid8), :customerId)
+              AND NOT pg_visible_in_snapshot(change_xid, CAST(:from AS pg_snapshot))
+              AND pg_visible_in_snapshot(change_xid, CAST(:to AS pg_snapshot))
+            ORDER BY change_xid, customer_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TombstoneChange> findDeletedBetween(@Param("from") String from,
+                                             @Param("to") String to,
+                                             @Param("xid") long xid,
+                                             @Param("customerId") long customerId,
+                                             @Param("limit") int limit);
+}
@@ -0,0 +1,116 @@
+package com.customer.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication manager remembering the authentication of bearer tokens it has already
+ * validated, so a client sending the same token on every request pays for the signature
+ * check and the claims conversion once. Entries are keyed by a SHA-256 hash of the token,
+ * so the cache never holds the tokens themselves, and expire when their token does.
+ * Tokens that fail validation, and tokens without an expiry, are not cached.
+ * Hit, miss and eviction counts are published to Micrometer as cache metrics.
+ */
+public class CachingJwtAuthenticationManager implements AuthenticationManager {
+
+    private final AuthenticationManager delegate;
+    private final Cache<String, JwtAuthenticationToken> authentications;
+
+    /**
+     * @param delegate validates tokens missing from the cache
+     * @param maximumSize the maximum number of cached tokens
+     * @param meterRegistry the registry the cache metrics are published to
+     */
+    public CachingJwtAuthenticationManager(AuthenticationManager delegate, long maximumSize,
+                                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.authentications = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, authentications, "jwtAuthentications");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+        String key = hash(bearer.getToken());
+        JwtAuthenticationToken cached = authentications.getIfPresent(key);
+        if (cached != null && isUnexpired(cached)) {
+            return copyWithDetails(cached, bearer.getDetails());
+        }
+
+        Authentication result = delegate.authenticate(bearer);
+        if (result instanceof JwtAuthenticationToken jwtAuthentication && isUnexpired(jwtAuthentication)) {
+            authentications.put(key, jwtAuthentication);
+        }
+        return result;
+    }
+
+    /**
+     * A cached authentication is shared by every request sending its token, so each request
+     * gets its own copy, carrying the details (remote address) of that request.
+     */
+    private static JwtAuthenticationToken copyWithDetails(JwtAuthenticationToken cached, Object details) {
+        JwtAuthenticationToken copy = new JwtAuthenticationToken(cached.getToken(), cached.getAuthorities(),
+                cached.getName());
+        copy.setDetails(details);
+        return copy;
+    }
+
+    private static boolean isUnexpired(JwtAuthenticationToken authentication) {
+        Instant expiresAt = authentication.getToken().getExpiresAt();
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires an entry when its token expires; reads and updates do not extend it.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, JwtAuthenticationToken> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtAuthenticationToken value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.getToken().getExpiresAt());
+            return TimeUnit.SECONDS.toNanos(Math.max(0, remaining.getSeconds()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtAuthenticationToken value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtAuthenticationToken value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
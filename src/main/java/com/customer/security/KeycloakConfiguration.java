@@ -1,26 +1,56 @@
 package com.customer.security;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.convert.converter.Converter;
-import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class KeycloakConfiguration {
 
+  private static final Logger log = LoggerFactory.getLogger(KeycloakConfiguration.class);
+
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(HttpSecurity http,
+      JwtDecoder jwtDecoder,
+      JwtAuthenticationConverter jwtAuthenticationConverter,
+      MeterRegistry meterRegistry,
+      @Value("${customer.security.jwt-cache.maximum-size}") long jwtCacheMaximumSize) throws Exception {
     http.authorizeHttpRequests(authorizeRequests -> {
       authorizeRequests.requestMatchers("/actuator/**").permitAll();
       authorizeRequests.anyRequest().permitAll();
@@ -29,14 +59,18 @@ public class KeycloakConfiguration {
     http.sessionManagement(sessionManagementConfigurer ->
         sessionManagementConfigurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
+    JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
+    jwtAuthenticationProvider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+    CachingJwtAuthenticationManager jwtAuthenticationManager = new CachingJwtAuthenticationManager(
+        new ProviderManager(jwtAuthenticationProvider), jwtCacheMaximumSize, meterRegistry);
 
     http.oauth2ResourceServer(oauth2Client ->
-        oauth2Client.jwt(jwt -> jwt.jwtAuthenticationConverter(source ->
-            customJwtAuthenticationConverter().convert(source))));
+        oauth2Client.jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager)));
     return http.build();
   }
 
-  private Converter<Jwt, AbstractAuthenticationToken> customJwtAuthenticationConverter() {
+  @Bean
+  public JwtAuthenticationConverter jwtAuthenticationConverter() {
     JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
 
     JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
@@ -48,4 +82,50 @@ public class KeycloakConfiguration {
     return jwtAuthenticationConverter;
   }
 
+  /**
+   * Keycloak signing keys, cached for the TTL and refreshed in the background shortly
+   * before it ends, so requests do not wait on Keycloak while the keys are rotated.
+   * A token signed with an unknown key still triggers a fetch.
+   */
+  @Bean
+  public JWKSource<SecurityContext> jwkSource(OAuth2ResourceServerProperties properties,
+      @Value("${customer.security.jwks.cache-ttl}") Duration cacheTtl,
+      @Value("${customer.security.jwks.refresh-ahead}") Duration refreshAhead) throws MalformedURLException {
+    return JWKSourceBuilder.<SecurityContext>create(URI.create(properties.getJwt().getJwkSetUri()).toURL())
+        .cache(cacheTtl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+        .refreshAheadCache(refreshAhead.toMillis(), true)
+        .build();
+  }
+
+  @Bean
+  public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource, OAuth2ResourceServerProperties properties) {
+    Set<JWSAlgorithm> algorithms = properties.getJwt().getJwsAlgorithms().stream()
+        .map(JWSAlgorithm::parse)
+        .collect(Collectors.toSet());
+    DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+    jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, jwkSource));
+    // Claims are checked by the Spring Security validators below
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+    });
+
+    NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+    jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(properties.getJwt().getIssuerUri()));
+    return jwtDecoder;
+  }
+
+  /**
+   * Fetch the signing keys once the application is ready, off the startup path,
+   * so the first authenticated request does not wait on Keycloak.
+   */
+  @Bean
+  public ApplicationListener<ApplicationReadyEvent> jwkSourceWarmUp(JWKSource<SecurityContext> jwkSource) {
+    return event -> Thread.ofVirtual().name("jwk-set-warm-up").start(() -> {
+      try {
+        jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+      } catch (KeySourceException e) {
+        log.warn("Could not fetch the JWK set, it will be fetched on the first request: {}", e.getMessage());
+      }
+    });
+  }
+
 }
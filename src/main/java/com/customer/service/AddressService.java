@@ -0,0 +1,87 @@
+package com.customer.service;
+
+import com.customer.dto.AddressCreateDTO;
+import com.customer.dto.AddressDTO;
+import com.customer.dto.AddressUpdateDTO;
+import com.customer.entity.Address;
+import com.customer.mapper.AddressMapper;
+import com.customer.repository.AddressRepository;
+import com.customer.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class for managing the addresses of customers.
+ */
+@Service
+@RequiredArgsConstructor
+public class AddressService {
+
+    private final AddressRepository addressRepository;
+    private final CustomerRepository customerRepository;
+    private final AddressMapper addressMapper;
+
+    /**
+     * Get the addresses of a customer.
+     * The customer is only looked up when it has no addresses.
+     *
+     * @param customerId the customer ID
+     * @return an Optional containing the address DTOs, or empty if the customer does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<AddressDTO>> getAddresses(Long customerId) {
+        List<Address> addresses = addressRepository.findByCustomerIdOrderByIdAsc(customerId);
+        if (addresses.isEmpty() && !customerRepository.existsById(customerId)) {
+            return Optional.empty();
+        }
+        return Optional.of(addressMapper.toDTOList(addresses));
+    }
+
+    /**
+     * Add an address to a customer.
+     *
+     * @param customerId the customer ID
+     * @param addressCreateDTO the address data to create
+     * @return an Optional containing the created address as DTO, or empty if the customer does not exist
+     */
+    @Transactional
+    public Optional<AddressDTO> createAddress(Long customerId, AddressCreateDTO addressCreateDTO) {
+        if (!customerRepository.existsById(customerId)) {
+            return Optional.empty();
+        }
+        Address address = addressMapper.toEntity(addressCreateDTO);
+        address.setCustomer(customerRepository.getReferenceById(customerId));
+        return Optional.of(addressMapper.toDTO(addressRepository.save(address)));
+    }
+
+    /**
+     * Update an address of a customer.
+     *
+     * @param customerId the customer ID
+     * @param addressId the address ID
+     * @param addressUpdateDTO the address data to update
+     * @return an Optional containing the updated address as DTO, or empty if the customer has no such address
+     */
+    @Transactional
+    public Optional<AddressDTO> updateAddress(Long customerId, Long addressId, AddressUpdateDTO addressUpdateDTO) {
+        return addressRepository.findByIdAndCustomerId(addressId, customerId)
+                .map(address -> addressMapper.updateAddressFromDTO(addressUpdateDTO, address))
+                .map(addressMapper::toDTO);
+    }
+
+    /**
+     * Delete an address of a customer with a single DELETE statement.
+     *
+     * @param customerId the customer ID
+     * @param addressId the address ID
+     * @return true if the address existed and was deleted, false otherwise
+     */
+    @Transactional
+    public boolean deleteAddress(Long customerId, Long addressId) {
+        return addressRepository.deleteAddress(addressId, customerId) > 0;
+    }
+}
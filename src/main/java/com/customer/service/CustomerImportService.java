@@ -0,0 +1,228 @@
+package com.customer.service;
+
+import com.customer.dto.CustomerImportJobDTO;
+import com.customer.dto.CustomerImportRejectDTO;
+import com.customer.entity.CustomerImportJob;
+import com.customer.enums.ImportJobStatus;
+import com.customer.mapper.CustomerImportMapper;
+import com.customer.repository.CustomerImportJobRepository;
+import com.customer.repository.CustomerImportRejectRepository;
+import com.customer.repository.CustomerImportRepository;
+import com.customer.util.ProgressInputStream;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service class running bulk imports of customer CSV files in the background.
+ * An uploaded file is saved to a temporary file and imported by a small pool of
+ * import threads, in one transaction per file: either every valid row is imported,
+ * or the job fails and nothing is. The job is updated in separate transactions as
+ * the import goes through its phases, so clients polling it see its progress.
+ */
+@Service
+public class CustomerImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerImportService.class);
+
+    /**
+     * Minimum time between two updates of the bytes read by a job.
+     */
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(1);
+
+    private final CustomerImportJobRepository customerImportJobRepository;
+    private final CustomerImportRejectRepository customerImportRejectRepository;
+    private final CustomerImportRepository customerImportRepository;
+    private final CustomerImportMapper customerImportMapper;
+    private final TransactionTemplate importTransaction;
+    private final TransactionTemplate progressTransaction;
+    private final Executor importExecutor;
+
+    /**
+     * The import threads are owned by the service rather than exposed as an executor bean,
+     * which would replace the executor Spring MVC runs streamed responses on.
+     */
+    @Autowired
+    public CustomerImportService(CustomerImportJobRepository customerImportJobRepository,
+                                 CustomerImportRejectRepository customerImportRejectRepository,
+                                 CustomerImportRepository customerImportRepository,
+                                 CustomerImportMapper customerImportMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${customer.import.concurrency}") int concurrency,
+                                 @Value("${customer.import.queue-capacity}") int queueCapacity) {
+        this(customerImportJobRepository, customerImportRejectRepository, customerImportRepository,
+                customerImportMapper, transactionManager, importExecutor(concurrency, queueCapacity));
+    }
+
+    CustomerImportService(CustomerImportJobRepository customerImportJobRepository,
+                          CustomerImportRejectRepository customerImportRejectRepository,
+                          CustomerImportRepository customerImportRepository,
+                          CustomerImportMapper customerImportMapper,
+                          PlatformTransactionManager transactionManager,
+                          Executor importExecutor) {
+        this.customerImportJobRepository = customerImportJobRepository;
+        this.customerImportRejectRepository = customerImportRejectRepository;
+        this.customerImportRepository = customerImportRepository;
+        this.customerImportMapper = customerImportMapper;
+        this.importTransaction = new TransactionTemplate(transactionManager);
+        this.progressTransaction = new TransactionTemplate(transactionManager);
+        this.progressTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.importExecutor = importExecutor;
+    }
+
+    /**
+     * Save an uploaded file and start importing it in the background.
+     *
+     * @param file the CSV file, with a header line and the columns firstName, lastName, email, phone and status
+     * @return the pending import job
+     * @throws IOException if the file cannot be saved
+     * @throws RejectedExecutionException if too many imports are already waiting
+     */
+    public CustomerImportJobDTO startImport(MultipartFile file) throws IOException {
+        Path path = Files.createTempFile("customer-import-", ".csv");
+        CustomerImportJob job;
+        try {
+            file.transferTo(path);
+            job = new CustomerImportJob();
+            job.setFileName(file.getOriginalFilename());
+            job.setStatus(ImportJobStatus.PENDING);
+            job.setBytesTotal(Files.size(path));
+            job = customerImportJobRepository.save(job);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+
+        Long jobId = job.getId();
+        try {
+            importExecutor.execute(() -> runImport(jobId, path));
+        } catch (RejectedExecutionException e) {
+            markFailed(jobId, "Too many imports are running, try again later");
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return customerImportMapper.toDTO(job);
+    }
+
+    /**
+     * Get an import job. Read on the primary, so a job is found right after it was started.
+     *
+     * @param id the job ID
+     * @return an Optional containing the job if found, or empty if not found
+     */
+    @Transactional
+    public Optional<CustomerImportJobDTO> getJob(Long id) {
+        return customerImportJobRepository.findById(id).map(customerImportMapper::toDTO);
+    }
+
+    /**
+     * Get the rows of an import file that were not imported, in line order.
+     *
+     * @param jobId the job ID
+     * @param afterLine the line after which to read, 0 for the first rejects
+     * @param limit the maximum number of rejects
+     * @return an Optional containing the rejects, or empty if the job is not found
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<CustomerImportRejectDTO>> getRejects(Long jobId, long afterLine, int limit) {
+        if (!customerImportJobRepository.existsById(jobId)) {
+            return Optional.empty();
+        }
+        return Optional.of(customerImportMapper.toDTOList(customerImportRejectRepository
+                .findByJobIdAndLineNumberGreaterThanOrderByLineNumberAsc(jobId, afterLine, Limit.of(limit))));
+    }
+
+    /**
+     * Import a saved file and record the outcome on its job. The file is deleted afterwards.
+     *
+     * @param jobId the job ID
+     * @param path the saved file
+     */
+    void runImport(Long jobId, Path path) {
+        try {
+            updateStatus(jobId, ImportJobStatus.COPYING);
+            try (ProgressInputStream input = new ProgressInputStream(Files.newInputStream(path),
+                    bytesRead -> progressTransaction.executeWithoutResult(
+                            status -> customerImportJobRepository.updateBytesRead(jobId, bytesRead)),
+                    PROGRESS_INTERVAL)) {
+                ImportResult result = importTransaction.execute(status -> importFile(jobId, input));
+                progressTransaction.executeWithoutResult(status -> customerImportJobRepository.markCompleted(
+                        jobId, input.getBytesRead(), result.rowsRead(), result.rowsRead() - result.rowsRejected(),
+                        result.rowsRejected(), OffsetDateTime.now()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Customer import {} failed", jobId, e);
+            markFailed(jobId, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete the file of customer import {}: {}", jobId, path, e);
+            }
+        }
+    }
+
+    private ImportResult importFile(Long jobId, InputStream input) {
+        customerImportRepository.createStagingTable();
+        long rowsRead = customerImportRepository.copyIntoStaging(input);
+        updateStatus(jobId, ImportJobStatus.MERGING);
+        long rowsRejected = customerImportRepository.rejectInvalidRows(jobId)
+                + customerImportRepository.mergeIntoCustomers(jobId);
+        return new ImportResult(rowsRead, rowsRejected);
+    }
+
+    private void updateStatus(Long jobId, ImportJobStatus status) {
+        progressTransaction.executeWithoutResult(s -> customerImportJobRepository.updateStatus(jobId, status));
+    }
+
+    private void markFailed(Long jobId, String error) {
+        progressTransaction.executeWithoutResult(
+                status -> customerImportJobRepository.markFailed(jobId, error, OffsetDateTime.now()));
+    }
+
+    /**
+     * Stop the import threads. An import still running when the application stops rolls back,
+     * and its job is left in the phase it had reached.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (importExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor importExecutor(int concurrency, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("customer-import-");
+        executor.initialize();
+        return executor;
+    }
+
+    private record ImportResult(long rowsRead, long rowsRejected) {
+    }
+}
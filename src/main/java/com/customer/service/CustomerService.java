@@ -1,110 +1,594 @@
 package com.customer.service;
 
+import com.customer.cache.CustomerCache;
+import com.customer.dto.AddressDTO;
+import com.customer.dto.CustomerBatchResultDTO;
 import com.customer.dto.CustomerCreateDTO;
 import com.customer.dto.CustomerDTO;
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerLookupResultDTO;
+import com.customer.dto.CustomerPageDTO;
+import com.customer.dto.CustomerSyncPageDTO;
 import com.customer.dto.CustomerUpdateDTO;
+import com.customer.dto.CustomerView;
 import com.customer.entity.Customer;
+import com.customer.entity.CustomerTombstone;
+import com.customer.enums.BatchItemStatus;
+import com.customer.enums.CustomerSort;
+import com.customer.enums.ExportFormat;
+import com.customer.mapper.AddressMapper;
+import com.customer.mapper.CustomerJsonSerializer;
 import com.customer.mapper.CustomerMapper;
+import com.customer.mapper.CustomerPatchMapper;
+import com.customer.mapper.InvalidPatchException;
+import com.customer.outbox.CustomerOutbox;
+import com.customer.repository.AddressRepository;
 import com.customer.repository.CustomerRepository;
+import com.customer.repository.CustomerRepositoryCustom.CustomerChange;
+import com.customer.repository.CustomerSpecifications;
+import com.customer.repository.CustomerTombstoneRepository;
+import com.customer.repository.CustomerTombstoneRepository.TombstoneChange;
+import com.customer.util.CursorCodec;
+import com.customer.util.CursorCodec.ChangePosition;
+import com.customer.util.CursorCodec.Position;
+import com.customer.util.CursorCodec.SnapshotSyncPass;
+import com.customer.util.CursorCodec.SyncPosition;
+import com.customer.util.CursorCodec.TimeSyncPass;
+import com.customer.util.EmailNormalizer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing customer operations.
+ * Every created, updated or deleted customer is recorded in the outbox
+ * in the same transaction as the change.
+ * Every public method is timed in the customer.service metric, tagged by method,
+ * with a histogram for p50, p95 and p99 latencies.
  */
 @Service
+@Timed(value = "customer.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 public class CustomerService {
 
+    /**
+     * Number of customers flushed together, matching hibernate.jdbc.batch_size.
+     */
+    private static final int INSERT_BATCH_SIZE = 50;
+
+    /**
+     * Fewest digits worth matching against phones, the length of a trigram.
+     */
+    private static final int MIN_PHONE_DIGITS = 3;
+
+    private static final Pattern NON_DIGITS = Pattern.compile("[^0-9]");
+
+    /**
+     * Emails accepted by batch create, the same check the CSV import applies.
+     */
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
     private final CustomerRepository customerRepository;
+    private final CustomerTombstoneRepository customerTombstoneRepository;
+    private final AddressRepository addressRepository;
     private final CustomerMapper customerMapper;
+    private final AddressMapper addressMapper;
+    private final CustomerPatchMapper customerPatchMapper;
+    private final CustomerJsonSerializer customerJsonSerializer;
+    private final CustomerCache customerCache;
+    private final CustomerOutbox customerOutbox;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Get a page of customers matching the filters, in the given order.
+     * Pages are read with keyset conditions on the sort columns, so every page costs the same
+     * regardless of its position. One extra row is read to find out whether another page exists.
+     * The customers are read as read-only views, built by the query straight from the rows
+     * without entities, so serializing them never touches the persistence context.
+     * Addresses, when asked for, are loaded for the whole page with one more query.
+     *
+     * @param filter the filters to apply
+     * @param sort the order of the customers
+     * @param after the last customer of the previous page, or null for the first page
+     * @param limit the maximum number of customers to return
+     * @param includeAddresses whether to load the addresses of the customers
+     * @return the page of customers with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CustomerPageDTO getCustomerPage(CustomerFilterDTO filter, CustomerSort sort, Position after,
+                                           int limit, boolean includeAddresses) {
+        List<CustomerView> customers;
+        if (filter.isEmpty() && sort == CustomerSort.ID) {
+            customers = customerRepository.findViewsAfterId(after == null ? 0L : after.id(), Limit.of(limit + 1));
+        } else {
+            Specification<Customer> specification = CustomerSpecifications.matching(filter);
+            if (after != null) {
+                specification = specification.and(CustomerSpecifications.after(sort, after));
+            }
+            customers = customerRepository.findViews(specification, CustomerSpecifications.orderBy(sort), limit + 1);
+        }
+
+        boolean hasNext = customers.size() > limit;
+        List<CustomerView> content = hasNext ? customers.subList(0, limit) : customers;
+        if (includeAddresses && !content.isEmpty()) {
+            Map<Long, List<AddressDTO>> addresses = addressRepository.findByCustomerIdInOrderByIdAsc(
+                            content.stream().map(CustomerView::id).toList()).stream()
+                    .collect(Collectors.groupingBy(address -> address.getCustomer().getId(),
+                            Collectors.mapping(addressMapper::toDTO, Collectors.toList())));
+            content = content.stream()
+                    .map(customer -> customer.withAddresses(addresses.getOrDefault(customer.id(), List.of())))
+                    .toList();
+        }
+        String nextCursor = hasNext ? encodeCursor(sort, content.get(content.size() - 1)) : null;
+        return new CustomerPageDTO(content, nextCursor);
+    }
+
+    private static String encodeCursor(CustomerSort sort, CustomerView last) {
+        if (sort == CustomerSort.ID) {
+            return CursorCodec.encodeId(last.id());
+        }
+        return CursorCodec.encodeCreatedAt(last.createdAt(), last.id());
+    }
+
+    /**
+     * Get the customers changed and the IDs of the customers deleted after a sync position.
+     * Sync reads in passes, each ending at the snapshot of running transactions taken when
+     * the pass reads its first page. The first pass reads the changes since a point in time
+     * with keyset conditions on the (time, ID) indexes. Every later pass reads the changes of
+     * the transactions the previous snapshot did not see and its own does, with keyset
+     * conditions on the (transaction ID, ID) indexes. A change committed late is returned by
+     * the pass after its commit, and no pass waits for transactions still running.
+     * One extra row is read from each to find out whether there are more.
+     * Read on the primary, where the snapshots are taken.
+     *
+     * @param since the position after the last page read
+     * @param limit the maximum number of changed customers, and of deleted customers, to return
+     * @return the page of changes with the cursor to sync from next
+     */
+    @Transactional
+    public CustomerSyncPageDTO getChangedCustomers(SyncPosition since, int limit) {
+        return switch (since) {
+            case TimeSyncPass pass -> getChangedCustomers(pass, limit);
+            case SnapshotSyncPass pass -> getChangedCustomers(pass, limit);
+        };
+    }
+
+    private CustomerSyncPageDTO getChangedCustomers(TimeSyncPass pass, int limit) {
+        String to = pass.to() != null ? pass.to() : customerRepository.findCurrentSnapshot();
+        List<CustomerView> changed = customerRepository.findChangedAfter(pass.changed().createdAt(),
+                pass.changed().id(), Limit.of(limit + 1));
+        List<CustomerTombstone> deleted = customerTombstoneRepository.findDeletedAfter(pass.deleted().createdAt(),
+                pass.deleted().id(), limit + 1);
+
+        boolean hasMore = changed.size() > limit || deleted.size() > limit;
+        List<CustomerView> changedPage = firstRows(changed, limit);
+        List<CustomerTombstone> deletedPage = firstRows(deleted, limit);
+
+        SyncPosition next = SnapshotSyncPass.after(to);
+        if (hasMore) {
+            Position changedPosition = pass.changed();
+            if (!changedPage.isEmpty()) {
+                CustomerView last = changedPage.get(changedPage.size() - 1);
+                changedPosition = new Position(last.updatedAt(), last.id());
+            }
+            Position deletedPosition = pass.deleted();
+            if (!deletedPage.isEmpty()) {
+                CustomerTombstone last = deletedPage.get(deletedPage.size() - 1);
+                deletedPosition = new Position(last.getDeletedAt(), last.getCustomerId());
+            }
+            next = new TimeSyncPass(to, changedPosition, deletedPosition);
+        }
+        return new CustomerSyncPageDTO(changedPage,
+                deletedPage.stream().map(CustomerTombstone::getCustomerId).toList(),
+                CursorCodec.encodeSync(next),
+                hasMore);
+    }
+
+    private CustomerSyncPageDTO getChangedCustomers(SnapshotSyncPass pass, int limit) {
+        String to = pass.to() != null ? pass.to() : customerRepository.findCurrentSnapshot();
+        List<CustomerChange> changed = customerRepository.findChangedBetween(pass.from(), to,
+                pass.changed().xid(), pass.changed().id(), limit + 1);
+        List<TombstoneChange> deleted = customerTombstoneRepository.findDeletedBetween(pass.from(), to,
+                pass.deleted().xid(), pass.deleted().id(), limit + 1);
+
+        boolean hasMore = changed.size() > limit || deleted.size() > limit;
+        List<CustomerChange> changedPage = firstRows(changed, limit);
+        List<TombstoneChange> deletedPage = firstRows(deleted, limit);
+
+        SyncPosition next = SnapshotSyncPass.after(to);
+        if (hasMore) {
+            ChangePosition changedPosition = pass.changed();
+            if (!changedPage.isEmpty()) {
+                CustomerChange last = changedPage.get(changedPage.size() - 1);
+                changedPosition = new ChangePosition(last.xid(), last.customer().id());
+            }
+            ChangePosition deletedPosition = pass.deleted();
+            if (!deletedPage.isEmpty()) {
+                TombstoneChange last = deletedPage.get(deletedPage.size() - 1);
+                deletedPosition = new ChangePosition(last.getXid(), last.getCustomerId());
+            }
+            next = new SnapshotSyncPass(pass.from(), to, changedPosition, deletedPosition);
+        }
+        return new CustomerSyncPageDTO(changedPage.stream().map(CustomerChange::customer).toList(),
+                deletedPage.stream().map(TombstoneChange::getCustomerId).toList(),
+                CursorCodec.encodeSync(next),
+                hasMore);
+    }
+
+    private static <T> List<T> firstRows(List<T> rows, int limit) {
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
 
     /**
-     * Get all customers.
+     * Write all customers as newline-delimited JSON.
+     * Customers are read through a server-side cursor as read-only views, which the persistence
+     * context does not keep, so memory use does not depend on the number of customers.
      *
-     * @return list of all customers as DTOs
+     * @param outputStream the stream to write to, left open when done
+     * @throws IOException if writing to the stream fails
      */
     @Transactional(readOnly = true)
-    public List<CustomerDTO> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-        return customerMapper.toDTOList(customers);
+    public void exportCustomers(OutputStream outputStream) throws IOException {
+        try (Stream<CustomerView> customers = customerRepository.streamAllOrderById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+            Iterator<CustomerView> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                customerJsonSerializer.serialize(iterator.next(), generator, provider);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * Export the customers matching a filter in CSV or PostgreSQL's binary format, ordered by ID.
+     * Rows are copied from the database to the stream as bytes, without entities,
+     * DTOs or JSON in between.
+     *
+     * @param filter the filters
+     * @param format the format to write
+     * @param outputStream the stream to write to, left open when done
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void copyCustomers(CustomerFilterDTO filter, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+        customerRepository.copyCustomers(filter, format, outputStream);
+    }
+
+    /**
+     * Search customers by a fragment of their first name, last name, email or phone.
+     * Phones are matched on their digits only, when the text has at least three of them.
+     *
+     * @param query the text to search for, at least three characters long
+     * @param limit the maximum number of customers to return
+     * @return the matching customers as DTOs, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> searchCustomers(String query, int limit) {
+        String pattern = "%" + escapeLikePattern(query) + "%";
+        String digits = NON_DIGITS.matcher(query).replaceAll("");
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            digits = "";
+        }
+        return customerMapper.toDTOList(customerRepository.searchCustomers(query, pattern, digits, limit));
+    }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
     /**
      * Get a customer by ID.
+     * Served from the cache when possible. Not transactional, so a cache hit never
+     * borrows a connection; a miss runs in the repository's read-only transaction.
      *
      * @param id the customer ID
      * @return an Optional containing the customer DTO if found
      */
-    @Transactional(readOnly = true)
     public Optional<CustomerDTO> getCustomerById(Long id) {
-        return customerRepository.findById(id)
-                .map(customerMapper::toDTO);
+        return customerCache.getById(id, () -> customerRepository.findById(id)
+                .map(customerMapper::toDTO));
+    }
+
+    /**
+     * Get the current version of a customer, without mapping it.
+     * Served from the cache when possible, otherwise read on its own from the database.
+     *
+     * @param id the customer ID
+     * @return an Optional containing the version, or empty if the customer does not exist
+     */
+    public Optional<Long> getCustomerVersion(Long id) {
+        return customerCache.peekById(id)
+                .map(CustomerDTO::getVersion)
+                .or(() -> customerRepository.findVersionById(id));
     }
 
     /**
      * Get a customer by email.
+     * Served from the cache when possible. Not transactional, so a cache hit never
+     * borrows a connection; a miss runs in the repository's read-only transaction.
      *
      * @param email the customer email
      * @return an Optional containing the customer DTO if found
      */
-    @Transactional(readOnly = true)
     public Optional<CustomerDTO> getCustomerByEmail(String email) {
-        return customerRepository.findByEmail(email)
-                .map(customerMapper::toDTO);
+        return customerCache.getByEmail(email, () -> customerRepository.findByEmail(email)
+                .map(customerMapper::toDTO));
+    }
+
+    /**
+     * Look up many customers by ID and by email.
+     * Customers cached by ID are served from the cache, and all others are read
+     * with a single query, then mapped together.
+     * Emails are compared ignoring case.
+     *
+     * @param ids the customer IDs
+     * @param emails the customer emails
+     * @return the customers found, in request order, and the IDs and emails not found
+     */
+    public CustomerLookupResultDTO lookupCustomers(List<Long> ids, List<String> emails) {
+        Map<Long, CustomerDTO> customersById = new HashMap<>();
+        List<Long> uncachedIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            customerCache.peekById(id).ifPresentOrElse(
+                    customerDTO -> customersById.put(id, customerDTO),
+                    () -> uncachedIds.add(id));
+        }
+        Set<String> normalizedEmails = emails.stream()
+                .map(EmailNormalizer::normalize)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!uncachedIds.isEmpty() || !normalizedEmails.isEmpty()) {
+            List<Customer> customers = customerRepository.findByIdsOrEmails(
+                    uncachedIds.toArray(Long[]::new), normalizedEmails.toArray(String[]::new));
+            customerMapper.toDTOList(customers)
+                    .forEach(customerDTO -> customersById.putIfAbsent(customerDTO.getId(), customerDTO));
+        }
+        Map<String, CustomerDTO> customersByEmail = customersById.values().stream()
+                .collect(Collectors.toMap(customerDTO -> EmailNormalizer.normalize(customerDTO.getEmail()),
+                        customerDTO -> customerDTO, (first, second) -> first));
+
+        Map<Long, CustomerDTO> found = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            CustomerDTO customerDTO = customersById.get(id);
+            if (customerDTO == null) {
+                missingIds.add(id);
+            } else {
+                found.putIfAbsent(id, customerDTO);
+            }
+        }
+        List<String> missingEmails = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (String email : emails) {
+            String normalizedEmail = EmailNormalizer.normalize(email);
+            if (!seenEmails.add(normalizedEmail)) {
+                continue;
+            }
+            CustomerDTO customerDTO = customersByEmail.get(normalizedEmail);
+            if (customerDTO == null) {
+                missingEmails.add(email);
+            } else {
+                found.putIfAbsent(customerDTO.getId(), customerDTO);
+            }
+        }
+        return new CustomerLookupResultDTO(new ArrayList<>(found.values()), missingIds, missingEmails);
     }
 
     /**
      * Create a new customer.
+     * The email check and the insert are one statement, so concurrent creates
+     * with the same email cannot both succeed.
      *
      * @param customerCreateDTO the customer data to create
-     * @return the created customer as DTO
+     * @return an Optional containing the created customer as DTO, or empty if the email is taken
      */
     @Transactional
-    public CustomerDTO createCustomer(CustomerCreateDTO customerCreateDTO) {
+    public Optional<CustomerDTO> createCustomer(CustomerCreateDTO customerCreateDTO) {
         Customer customer = customerMapper.toEntity(customerCreateDTO);
-        Customer savedCustomer = customerRepository.save(customer);
-        return customerMapper.toDTO(savedCustomer);
+        return customerRepository.insertIfEmailAbsent(customer)
+                .map(savedCustomer -> {
+                    CustomerDTO customerDTO = customerMapper.toDTO(savedCustomer);
+                    customerOutbox.recordCreated(customerDTO);
+                    customerCache.putAfterCommit(customerDTO);
+                    return customerDTO;
+                });
     }
 
     /**
-     * Update an existing customer.
+     * Create many customers at once.
+     * Taken emails are found with a single query, and new customers are inserted
+     * in JDBC batches and cleared from the persistence context after each batch.
+     * An item whose email is already taken, or repeated earlier in the request, is skipped.
+     * Emails are compared ignoring case. An item with a missing or too long name, email or
+     * phone is reported as invalid, with the same limits as the CSV import, and does not
+     * fail the other items.
+     *
+     * @param customerCreateDTOs the customers to create
+     * @return the result of each item, in request order
+     */
+    @Transactional
+    public List<CustomerBatchResultDTO> createCustomers(List<CustomerCreateDTO> customerCreateDTOs) {
+        Set<String> emails = customerCreateDTOs.stream()
+                .filter(CustomerService::isValid)
+                .map(customerCreateDTO -> EmailNormalizer.normalize(customerCreateDTO.getEmail()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> takenEmails = emails.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(customerRepository.findExistingEmails(emails));
+
+        CustomerBatchResultDTO[] results = new CustomerBatchResultDTO[customerCreateDTOs.size()];
+        List<Customer> pending = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int i = 0; i < customerCreateDTOs.size(); i++) {
+            CustomerCreateDTO customerCreateDTO = customerCreateDTOs.get(i);
+            if (!isValid(customerCreateDTO)) {
+                results[i] = new CustomerBatchResultDTO(i, BatchItemStatus.INVALID, null);
+                continue;
+            }
+            if (!takenEmails.add(EmailNormalizer.normalize(customerCreateDTO.getEmail()))) {
+                results[i] = new CustomerBatchResultDTO(i, BatchItemStatus.CONFLICT, null);
+                continue;
+            }
+            pending.add(customerMapper.toEntity(customerCreateDTO));
+            pendingIndexes.add(i);
+            if (pending.size() == INSERT_BATCH_SIZE) {
+                insertBatch(pending, pendingIndexes, results);
+            }
+        }
+        if (!pending.isEmpty()) {
+            insertBatch(pending, pendingIndexes, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private static boolean isValid(CustomerCreateDTO customerCreateDTO) {
+        return customerCreateDTO != null
+                && isPresent(customerCreateDTO.getFirstName(), 100)
+                && isPresent(customerCreateDTO.getLastName(), 100)
+                && customerCreateDTO.getEmail() != null
+                && customerCreateDTO.getEmail().length() <= 255
+                && EMAIL.matcher(customerCreateDTO.getEmail()).matches()
+                && (customerCreateDTO.getPhone() == null || customerCreateDTO.getPhone().length() <= 20);
+    }
+
+    private static boolean isPresent(String value, int maxLength) {
+        return value != null && !value.isBlank() && value.length() <= maxLength;
+    }
+
+    private void insertBatch(List<Customer> customers, List<Integer> indexes, CustomerBatchResultDTO[] results) {
+        // Stamped with the database clock, like the rows written by native statements
+        OffsetDateTime now = customerRepository.findTransactionTime();
+        for (Customer customer : customers) {
+            customer.setCreatedAt(now);
+            customer.setUpdatedAt(now);
+        }
+        List<Customer> savedCustomers = customerRepository.saveAll(customers);
+        List<CustomerDTO> customerDTOs = new ArrayList<>(savedCustomers.size());
+        for (int i = 0; i < savedCustomers.size(); i++) {
+            int index = indexes.get(i);
+            CustomerDTO customerDTO = customerMapper.toDTO(savedCustomers.get(i));
+            customerDTOs.add(customerDTO);
+            results[index] = new CustomerBatchResultDTO(index, BatchItemStatus.CREATED, customerDTO);
+        }
+        customerOutbox.recordCreated(customerDTOs);
+        entityManager.flush();
+        entityManager.clear();
+        customers.clear();
+        indexes.clear();
+    }
+
+    /**
+     * Update an existing customer with a single UPDATE ... RETURNING statement.
+     * When a version is expected, the update only applies if the customer still has it.
      *
      * @param id the customer ID
+     * @param expectedVersion the version the client last read, or null to update any version
      * @param customerUpdateDTO the customer data to update
-     * @return the updated customer as DTO
+     * @return the updated customer as DTO, or empty if the customer does not exist
+     * @throws OptimisticLockingFailureException if the customer no longer has the expected version
      */
     @Transactional
-    public Optional<CustomerDTO> updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO) {
-        return customerRepository.findById(id)
-                .map(existingCustomer -> {
-                    Customer updatedCustomer = customerMapper.updateCustomerFromDTO(customerUpdateDTO, existingCustomer);
-                    return customerMapper.toDTO(customerRepository.save(updatedCustomer));
-                });
+    public Optional<CustomerDTO> updateCustomer(Long id, Long expectedVersion, CustomerUpdateDTO customerUpdateDTO) {
+        Customer changes = customerMapper.updateCustomerFromDTO(customerUpdateDTO, new Customer());
+        Optional<Customer> updated = customerRepository.updateCustomer(id,
+                expectedVersion == null ? CustomerRepository.ANY_VERSION : expectedVersion, changes);
+        return toUpdatedDTO(id, expectedVersion, updated);
     }
 
     /**
-     * Delete a customer by ID.
+     * Apply a JSON Merge Patch to an existing customer.
+     * The UPDATE ... RETURNING statement sets only the columns present in the patch,
+     * so a status change does not rewrite names or email.
      *
-     * @param id the customer ID to delete
+     * @param id the customer ID
+     * @param expectedVersion the version the client last read, or null to patch any version
+     * @param patch the merge patch
+     * @return the patched customer as DTO, or empty if the customer does not exist
+     * @throws InvalidPatchException if the patch is invalid
+     * @throws OptimisticLockingFailureException if the customer no longer has the expected version
      */
     @Transactional
-    public void deleteCustomer(Long id) {
-        customerRepository.deleteById(id);
+    public Optional<CustomerDTO> patchCustomer(Long id, Long expectedVersion, ObjectNode patch) {
+        Map<String, Object> columns = customerPatchMapper.toColumns(patch);
+        if (columns.isEmpty()) {
+            Optional<CustomerDTO> current = getCustomerById(id);
+            if (current.isPresent() && expectedVersion != null
+                    && !expectedVersion.equals(current.get().getVersion())) {
+                throw new OptimisticLockingFailureException(
+                        "Customer " + id + " was modified after version " + expectedVersion);
+            }
+            return current;
+        }
+        Optional<Customer> updated = customerRepository.patchCustomer(id,
+                expectedVersion == null ? CustomerRepository.ANY_VERSION : expectedVersion, columns);
+        return toUpdatedDTO(id, expectedVersion, updated);
+    }
+
+    private Optional<CustomerDTO> toUpdatedDTO(Long id, Long expectedVersion, Optional<Customer> updated) {
+        if (updated.isEmpty() && expectedVersion != null && customerRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Customer " + id + " was modified after version " + expectedVersion);
+        }
+        return updated.map(updatedCustomer -> {
+            CustomerDTO customerDTO = customerMapper.toDTO(updatedCustomer);
+            customerOutbox.recordUpdated(customerDTO);
+            customerCache.evictAfterCommit(id);
+            customerCache.putAfterCommit(customerDTO);
+            return customerDTO;
+        });
     }
 
     /**
-     * Check if a customer exists with the given email.
+     * Delete a customer by ID with a single DELETE statement, leaving a tombstone for clients syncing changes.
      *
-     * @param email the email to check
-     * @return true if a customer exists with the email, false otherwise
+     * @param id the customer ID to delete
+     * @return true if the customer existed and was deleted, false otherwise
      */
-    @Transactional(readOnly = true)
-    public boolean existsByEmail(String email) {
-        return customerRepository.existsByEmail(email);
+    @Transactional
+    public boolean deleteCustomer(Long id) {
+        boolean deleted = customerRepository.deleteCustomerById(id) > 0;
+        if (deleted) {
+            customerTombstoneRepository.insertTombstone(id);
+            customerOutbox.recordDeleted(id);
+        }
+        customerCache.evictAfterCommit(id);
+        return deleted;
     }
 }
@@ -0,0 +1,96 @@
+package com.customer.service;
+
+import com.customer.cache.CustomerCache;
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerStatusTransitionDTO;
+import com.customer.enums.CustomerStatus;
+import com.customer.repository.CustomerRepository;
+import com.customer.repository.CustomerRepositoryCustom.StatusTransitionChunk;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Service class moving many customers to a status at once, with set-based updates.
+ * Customers are updated in chunks, each in its own short transaction, so row locks are
+ * held briefly and a large transition does not block other writers until it ends.
+ * A transition that fails part way keeps the chunks already committed, and can be
+ * run again: customers already in the status are left as they are.
+ */
+@Service
+public class CustomerStatusTransitionService {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CustomerStatusTransitionService(CustomerRepository customerRepository,
+                                           CustomerCache customerCache,
+                                           TransactionTemplate transactionTemplate,
+                                           @Value("${customer.status-transition.chunk-size}") int chunkSize) {
+        this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Move the customers with the given IDs, or matching the given filter, to a status.
+     * The IDs of the customers that changed are written as newline-delimited JSON,
+     * in ID order, as each chunk commits.
+     *
+     * @param transition the status to move to, and the IDs or the filter
+     * @param outputStream the stream to write to, left open when done
+     * @throws IOException if writing to the stream fails
+     */
+    public void transitionStatus(CustomerStatusTransitionDTO transition, OutputStream outputStream) throws IOException {
+        CustomerStatus status = transition.getStatus();
+        if (transition.getIds() != null) {
+            Long[] ids = transition.getIds().stream().sorted().distinct().toArray(Long[]::new);
+            for (int from = 0; from < ids.length; from += chunkSize) {
+                Long[] chunkIds = Arrays.copyOfRange(ids, from, Math.min(from + chunkSize, ids.length));
+                write(transitionChunk(status, new CustomerFilterDTO(), chunkIds, 0L, chunkIds.length), outputStream);
+            }
+            return;
+        }
+
+        long afterId = 0L;
+        while (true) {
+            StatusTransitionChunk chunk = transitionChunk(status, transition.getFilter(), null, afterId, chunkSize);
+            if (chunk.lastId() == null) {
+                return;
+            }
+            write(chunk, outputStream);
+            afterId = chunk.lastId();
+        }
+    }
+
+    private StatusTransitionChunk transitionChunk(CustomerStatus status, CustomerFilterDTO filter, Long[] ids,
+                                                  long afterId, int limit) {
+        return transactionTemplate.execute(transactionStatus -> {
+            StatusTransitionChunk chunk = customerRepository.transitionStatus(status, filter, ids, afterId, limit);
+            chunk.transitionedIds().forEach(customerCache::evictAfterCommit);
+            return chunk;
+        });
+    }
+
+    private static void write(StatusTransitionChunk chunk, OutputStream outputStream) throws IOException {
+        List<Long> ids = chunk.transitionedIds();
+        if (ids.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(ids.size() * 8);
+        for (Long id : ids) {
+            lines.append(id).append('\n');
+        }
+        outputStream.write(lines.toString().getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+    }
+}
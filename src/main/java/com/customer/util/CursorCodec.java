@@ -0,0 +1,268 @@
+package com.customer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for encoding and decoding opaque pagination cursors.
+ * Cursors are URL-safe Base64 strings so clients treat them as tokens
+ * instead of building them from raw ids.
+ */
+public final class CursorCodec {
+
+    private static final String ID_PREFIX = "id:";
+    private static final String CREATED_AT_PREFIX = "createdAt:";
+    private static final String SYNC_PREFIX = "sync:";
+    private static final String SYNC_PASS_PREFIX = "syncpass:";
+    private static final char KEY_SEPARATOR = ',';
+    private static final char POSITION_SEPARATOR = ';';
+
+    /**
+     * Text of a PostgreSQL snapshot, xmin:xmax:xip_list, checked before it is cast in a query.
+     */
+    private static final Pattern SNAPSHOT = Pattern.compile("\\d+:\\d+:(\\d+(,\\d+)*)?");
+
+    /**
+     * Position of a customer in a listing, after which the next page starts.
+     *
+     * @param createdAt the creation time of the customer, null in listings ordered by ID only;
+     *                  the update or deletion time in a {@link TimeSyncPass}
+     * @param id the customer ID, breaking ties between equal creation times
+     */
+    public record Position(OffsetDateTime createdAt, long id) {
+    }
+
+    /**
+     * Position of a client in the sync of changed and deleted customers.
+     * Sync reads changes in passes, each ending at the snapshot of running transactions
+     * taken when it starts. The next pass returns the changes of the transactions that
+     * snapshot did not see, so a change is returned once it commits, however late, and
+     * no pass waits for transactions still running.
+     */
+    public sealed interface SyncPosition permits TimeSyncPass, SnapshotSyncPass {
+    }
+
+    /**
+     * Position in the first pass, which returns the customers changed and deleted since
+     * a point in time, ordered by time.
+     *
+     * @param to the snapshot the pass ends at, null before its first page is read
+     * @param changed the update time and ID of the last changed customer returned
+     * @param deleted the deletion time and ID of the last deleted customer returned
+     */
+    public record TimeSyncPass(String to, Position changed, Position deleted) implements SyncPosition {
+    }
+
+    /**
+     * Position in a later pass, which returns the changes of the transactions seen by
+     * {@code to} and not by {@code from}, ordered by transaction ID.
+     *
+     * @param from the snapshot the previous pass ended at
+     * @param to the snapshot this pass ends at, null before its first page is read
+     * @param changed the position of the last changed customer returned
+     * @param deleted the position of the last deleted customer returned
+     */
+    public record SnapshotSyncPass(String from, String to, ChangePosition changed, ChangePosition deleted)
+            implements SyncPosition {
+
+        /**
+         * Start a pass after the given snapshot.
+         *
+         * @param from the snapshot the previous pass ended at
+         * @return the position before the first change of the pass
+         */
+        public static SnapshotSyncPass after(String from) {
+            return new SnapshotSyncPass(from, null, ChangePosition.START, ChangePosition.START);
+        }
+    }
+
+    /**
+     * Position of a change in a {@link SnapshotSyncPass}.
+     *
+     * @param xid the ID of the transaction that made the change
+     * @param id the customer ID, breaking ties between changes of one transaction
+     */
+    public record ChangePosition(long xid, long id) {
+
+        /**
+         * Position before every change.
+         */
+        public static final ChangePosition START = new ChangePosition(0L, 0L);
+    }
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encode the last id of a page as an opaque cursor.
+     *
+     * @param id the last customer id returned
+     * @return the opaque cursor
+     */
+    public static String encodeId(long id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    /**
+     * Decode a cursor created by {@link #encodeId(long)}.
+     *
+     * @param cursor the opaque cursor
+     * @return an Optional containing the id, or empty if the cursor is malformed
+     */
+    public static Optional<Long> decodeId(String cursor) {
+        return decode(cursor)
+                .filter(value -> value.startsWith(ID_PREFIX))
+                .flatMap(value -> parseLong(value.substring(ID_PREFIX.length())));
+    }
+
+    /**
+     * Encode the last creation time and id of a page as an opaque cursor.
+     *
+     * @param createdAt the creation time of the last customer returned
+     * @param id the ID of the last customer returned
+     * @return the opaque cursor
+     */
+    public static String encodeCreatedAt(OffsetDateTime createdAt, long id) {
+        return encode(CREATED_AT_PREFIX + format(new Position(createdAt, id)));
+    }
+
+    /**
+     * Decode a cursor created by {@link #encodeCreatedAt(OffsetDateTime, long)}.
+     *
+     * @param cursor the opaque cursor
+     * @return an Optional containing the position, or empty if the cursor is malformed
+     */
+    public static Optional<Position> decodeCreatedAt(String cursor) {
+        return decode(cursor)
+                .filter(value -> value.startsWith(CREATED_AT_PREFIX))
+                .flatMap(value -> parsePosition(value.substring(CREATED_AT_PREFIX.length())));
+    }
+
+    /**
+     * Encode the position of a client in the sync of changed and deleted customers as an opaque cursor.
+     *
+     * @param position the position after the last page returned
+     * @return the opaque cursor
+     */
+    public static String encodeSync(SyncPosition position) {
+        return switch (position) {
+            case TimeSyncPass pass -> encode(SYNC_PREFIX + format(pass.changed()) + POSITION_SEPARATOR
+                    + format(pass.deleted()) + (pass.to() == null ? "" : POSITION_SEPARATOR + pass.to()));
+            case SnapshotSyncPass pass -> encode(SYNC_PASS_PREFIX + pass.from() + POSITION_SEPARATOR
+                    + (pass.to() == null ? "" : pass.to()) + POSITION_SEPARATOR
+                    + format(pass.changed()) + POSITION_SEPARATOR + format(pass.deleted()));
+        };
+    }
+
+    /**
+     * Decode a cursor created by {@link #encodeSync(SyncPosition)}.
+     * Cursors of the first pass without a snapshot decode to a pass that has not read a page yet.
+     *
+     * @param cursor the opaque cursor
+     * @return an Optional containing the sync position, or empty if the cursor is malformed
+     */
+    public static Optional<SyncPosition> decodeSync(String cursor) {
+        return decode(cursor).flatMap(value -> {
+            if (value.startsWith(SYNC_PASS_PREFIX)) {
+                return parseSnapshotSyncPass(value.substring(SYNC_PASS_PREFIX.length()));
+            }
+            if (value.startsWith(SYNC_PREFIX)) {
+                return parseTimeSyncPass(value.substring(SYNC_PREFIX.length()));
+            }
+            return Optional.empty();
+        });
+    }
+
+    private static Optional<SyncPosition> parseTimeSyncPass(String value) {
+        String[] parts = value.split(String.valueOf(POSITION_SEPARATOR), -1);
+        if (parts.length < 2 || parts.length > 3 || (parts.length == 3 && !isSnapshot(parts[2]))) {
+            return Optional.empty();
+        }
+        String to = parts.length == 3 ? parts[2] : null;
+        return parsePosition(parts[0])
+                .flatMap(changed -> parsePosition(parts[1])
+                        .map(deleted -> new TimeSyncPass(to, changed, deleted)));
+    }
+
+    private static Optional<SyncPosition> parseSnapshotSyncPass(String value) {
+        String[] parts = value.split(String.valueOf(POSITION_SEPARATOR), -1);
+        if (parts.length != 4 || !isSnapshot(parts[0]) || !(parts[1].isEmpty() || isSnapshot(parts[1]))) {
+            return Optional.empty();
+        }
+        String to = parts[1].isEmpty() ? null : parts[1];
+        return parseChangePosition(parts[2])
+                .flatMap(changed -> parseChangePosition(parts[3])
+                        .map(deleted -> new SnapshotSyncPass(parts[0], to, changed, deleted)));
+    }
+
+    private static boolean isSnapshot(String value) {
+        return SNAPSHOT.matcher(value).matches();
+    }
+
+    private static String format(ChangePosition position) {
+        return Long.toString(position.xid()) + KEY_SEPARATOR + position.id();
+    }
+
+    private static Optional<ChangePosition> parseChangePosition(String value) {
+        int separator = value.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        return parseLong(value.substring(0, separator))
+                .filter(xid -> xid >= 0)
+                .flatMap(xid -> parseLong(value.substring(separator + 1))
+                        .map(id -> new ChangePosition(xid, id)));
+    }
+
+    private static String format(Position position) {
+        return position.createdAt().toInstant().toString() + KEY_SEPARATOR + position.id();
+    }
+
+    private static Optional<Position> parsePosition(String value) {
+        int separator = value.lastIndexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        return parseInstant(value.substring(0, separator))
+                .flatMap(time -> parseLong(value.substring(separator + 1))
+                        .map(id -> new Position(time.atOffset(ZoneOffset.UTC), id)));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Optional<String> decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Long> parseLong(String value) {
+        try {
+            return Optional.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Instant> parseInstant(String value) {
+        try {
+            return Optional.of(Instant.parse(value));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.customer.util;
+
+import java.util.Optional;
+
+/**
+ * Utility class for the entity tags of versioned resources.
+ * An entity tag is the resource version in quotes, so it changes on every update.
+ */
+public final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+
+    private ETags() {
+    }
+
+    /**
+     * Build the strong entity tag of a resource version.
+     *
+     * @param version the resource version
+     * @return the entity tag, for example "3" in quotes
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Check an If-None-Match header against the current entity tag.
+     * Uses weak comparison, as RFC 9110 requires for If-None-Match.
+     *
+     * @param ifNoneMatch the header value, a list of entity tags or *
+     * @param eTag the current entity tag
+     * @return true if the client already has the current representation
+     */
+    public static boolean matchesNoneMatch(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(ANY) || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an If-Match header accepts any current version.
+     *
+     * @param ifMatch the header value
+     * @return true if the header is *
+     */
+    public static boolean isAny(String ifMatch) {
+        return ANY.equals(ifMatch.strip());
+    }
+
+    /**
+     * Read the version out of an If-Match header holding a single strong entity tag.
+     *
+     * @param ifMatch the header value
+     * @return an Optional containing the version, or empty if the header holds anything else
+     */
+    public static Optional<Long> parseVersion(String ifMatch) {
+        String tag = ifMatch.strip();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(tag.substring(1, tag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.customer.util;
+
+import java.util.Locale;
+
+/**
+ * Utility class for normalizing email addresses before storing or comparing them.
+ * Emails are compared ignoring case, which matches PostgreSQL's lower() for ASCII addresses.
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    /**
+     * Normalize an email address.
+     *
+     * @param email the email address, in any case
+     * @return the lowercased email address, or null if the email is null
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+}
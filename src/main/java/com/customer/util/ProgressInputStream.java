@@ -0,0 +1,77 @@
+package com.customer.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+/**
+ * Input stream counting the bytes read through it, and reporting the count
+ * at most once per interval so that reporting stays cheap for large streams.
+ */
+public class ProgressInputStream extends FilterInputStream {
+
+    private final LongConsumer listener;
+    private final long intervalMillis;
+    private long bytesRead;
+    private long lastReportMillis;
+
+    /**
+     * @param in the stream to read
+     * @param listener called with the number of bytes read so far
+     * @param interval the minimum time between two calls of the listener
+     */
+    public ProgressInputStream(InputStream in, LongConsumer listener, Duration interval) {
+        super(in);
+        this.listener = listener;
+        this.intervalMillis = interval.toMillis();
+        this.lastReportMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            advance(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * @return the number of bytes read so far
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    private void advance(long bytes) {
+        bytesRead += bytes;
+        long now = System.currentTimeMillis();
+        if (now - lastReportMillis >= intervalMillis) {
+            lastReportMillis = now;
+            listener.accept(bytesRead);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Add the email_normalized column used for case-insensitive email lookups.
+ * Runs outside a transaction so the table stays writable throughout: the unique index
+ * is built concurrently while the column is still empty, and existing rows are then
+ * filled in small batches, each committed on its own. Building an index concurrently waits
+ * for every open transaction, so Flyway must not hold its lock in one
+ * (spring.flyway.postgresql.transactional-lock=false).
+ * Customers sharing an email that differs only in case cannot all get the normalized email,
+ * so the migration refuses to start while there are any, and fails if any customer is left
+ * without one, listing the emails to merge. Every step can be run again, so the migration
+ * is repaired and rerun once they are merged.
+ */
+public class V8__add_customer_email_normalized extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 5000;
+
+    /**
+     * Times a batch is run again after concurrent writes took one of its emails.
+     */
+    private static final int MAX_CONFLICT_RETRIES = 10;
+
+    /**
+     * Emails listed when the migration stops on duplicates.
+     */
+    private static final int MAX_REPORTED_DUPLICATES = 10;
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * Fill one range of IDs, oldest customer first within each email.
+     * Skips emails already taken by an earlier range or by a customer written
+     * by the application since the column was added.
+     */
+    private static final String BACKFILL_BATCH = """
+            UPDATE customers c
+            SET email_normalized = b.email_normalized
+            FROM (SELECT DISTINCT ON (lower(email)) id, lower(email) AS email_normalized
+                  FROM customers
+                  WHERE id > ? AND id <= ? AND email_normalized IS NULL
+                  ORDER BY lower(email), id) b
+            WHERE c.id = b.id
+              AND NOT EXISTS (SELECT 1 FROM customers o WHERE o.email_normalized = b.email_normalized)
+            """;
+
+    private static final String MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM customers";
+
+    private static final String DUPLICATE_EMAILS = """
+            SELECT lower(email)
+            FROM customers
+            GROUP BY lower(email)
+            HAVING COUNT(*) > 1
+            ORDER BY lower(email)
+            LIMIT %d
+            """.formatted(MAX_REPORTED_DUPLICATES);
+
+    private static final String UNFILLED_EMAILS = """
+            SELECT lower(email)
+            FROM customers
+            WHERE email_normalized IS NULL
+            ORDER BY lower(email)
+            LIMIT %d
+            """.formatted(MAX_REPORTED_DUPLICATES);
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        connection.setAutoCommit(true);
+
+        failIfAny(connection, DUPLICATE_EMAILS,
+                "Customers share emails that differ only in case, merge them before migrating");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE customers ADD COLUMN IF NOT EXISTS email_normalized VARCHAR(255)");
+            statement.execute("DROP INDEX IF EXISTS idx_customers_email_normalized");
+            statement.execute("CREATE UNIQUE INDEX CONCURRENTLY idx_customers_email_normalized "
+                    + "ON customers(email_normalized)");
+        }
+
+        long maxId = queryLong(connection, MAX_ID);
+        try (PreparedStatement backfill = connection.prepareStatement(BACKFILL_BATCH)) {
+            for (long from = 0; from < maxId; from += BATCH_SIZE) {
+                backfill.setLong(1, from);
+                backfill.setLong(2, from + BATCH_SIZE);
+                executeRetryingOnConflict(backfill, from);
+                if (from + BATCH_SIZE >= maxId) {
+                    // Customers inserted meanwhile by an application unaware of the column
+                    maxId = queryLong(connection, MAX_ID);
+                }
+            }
+        }
+
+        failIfAny(connection, UNFILLED_EMAILS,
+                "Customers were left without email_normalized, because they were written during the migration "
+                        + "with an email that differs only in case from another customer's, or after the last batch; "
+                        + "merge any duplicates, then repair and rerun the migration");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_customers_email");
+        }
+    }
+
+    /**
+     * Run a batch again when a customer written by the application at the same time
+     * took one of its emails; the retry skips that email.
+     */
+    private static void executeRetryingOnConflict(PreparedStatement backfill, long from) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                backfill.executeUpdate();
+                return;
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                if (attempt == MAX_CONFLICT_RETRIES) {
+                    throw new FlywayException("Filling email_normalized of customers " + (from + 1) + " to "
+                            + (from + BATCH_SIZE) + " still conflicted with concurrent writes after "
+                            + MAX_CONFLICT_RETRIES + " retries, repair and rerun the migration", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fail the migration when the query finds any email, listing the first ones found.
+     */
+    private static void failIfAny(Connection connection, String sql, String message) throws SQLException {
+        List<String> emails = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                emails.add(resultSet.getString(1));
+            }
+        }
+        if (!emails.isEmpty()) {
+            throw new FlywayException(message + ": " + String.join(", ", emails)
+                    + (emails.size() == MAX_REPORTED_DUPLICATES ? ", ..." : ""));
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Change events of customers, written in the same transaction as the change
+-- id orders events as they are written; ids are allocated in blocks of 50 so inserts can be batched
+-- seq orders events as they are published, and stays NULL until the relay publishes the event
+CREATE SEQUENCE customer_outbox_id_seq INCREMENT BY 50;
+CREATE SEQUENCE customer_outbox_seq_seq;
+
+CREATE TABLE customer_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('customer_outbox_id_seq'),
+    seq BIGINT,
+    customer_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    payload JSONB,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE
+);
+
+ALTER SEQUENCE customer_outbox_id_seq OWNED BY customer_outbox.id;
+ALTER SEQUENCE customer_outbox_seq_seq OWNED BY customer_outbox.seq;
+
+-- Serves the change feed, which reads published events after a seq
+CREATE UNIQUE INDEX idx_customer_outbox_seq ON customer_outbox(seq);
+
+-- Lets the relay find unpublished events without scanning published ones
+CREATE INDEX idx_customer_outbox_pending ON customer_outbox(id) WHERE seq IS NULL;
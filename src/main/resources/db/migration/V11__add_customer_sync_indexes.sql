@@ -0,0 +1,17 @@
+-- Incremental sync of customers changed since a point in time, with keyset paging
+
+-- Keyset paging over (updated_at, id) needs every row to have an update time
+UPDATE customers SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE customers ALTER COLUMN updated_at SET NOT NULL;
+
+-- Serves customers changed since a point in time, ordered by update time
+CREATE INDEX idx_customers_updated_at_id ON customers(updated_at, id);
+
+-- Deleted customers, so that clients syncing changes also learn about deletions
+CREATE TABLE customer_tombstones (
+    customer_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Serves customers deleted since a point in time, ordered by deletion time
+CREATE INDEX idx_customer_tombstones_deleted_at_id ON customer_tombstones(deleted_at, customer_id);
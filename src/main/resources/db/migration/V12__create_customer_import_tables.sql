@@ -0,0 +1,31 @@
+-- Bulk import jobs of customer CSV files
+
+CREATE TABLE customer_import_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    file_name VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    bytes_total BIGINT NOT NULL,
+    bytes_read BIGINT DEFAULT 0 NOT NULL,
+    rows_read BIGINT,
+    rows_imported BIGINT,
+    rows_rejected BIGINT,
+    error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Rows of an import file that were not imported, by line of the file
+CREATE TABLE customer_import_rejects (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    line_number BIGINT NOT NULL,
+    email TEXT,
+    reason VARCHAR(30) NOT NULL,
+    CONSTRAINT fk_customer_import_job
+        FOREIGN KEY(job_id)
+        REFERENCES customer_import_jobs(id)
+        ON DELETE CASCADE
+);
+
+-- Serves the rejects of a job in line order
+CREATE INDEX idx_customer_import_rejects_job_id_line_number ON customer_import_rejects(job_id, line_number);
@@ -0,0 +1,6 @@
+-- Move customers_id_seq past its first block, see V4
+-- The CSV import takes ids like Hibernate's pooled optimizer: the 50 values up to each nextval result.
+-- On a fresh sequence the first nextval returns 1, which would make that block start below 1,
+-- so the next value is made at least 100. A sequence already past 50 is left as it is.
+SELECT setval('customers_id_seq', GREATEST(last_value, 50), is_called OR last_value < 50)
+FROM customers_id_seq;
@@ -0,0 +1,9 @@
+-- Sync reads changes in passes between two snapshots of the running transactions,
+-- so every customer and tombstone records the transaction of its last change
+-- Existing rows get the transaction of this migration, which every later snapshot sees
+ALTER TABLE customers ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE customer_tombstones ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+-- Serve a sync pass, which reads changes ordered by transaction ID
+CREATE INDEX idx_customers_change_xid_id ON customers(change_xid, id);
+CREATE INDEX idx_customer_tombstones_change_xid_id ON customer_tombstones(change_xid, customer_id);
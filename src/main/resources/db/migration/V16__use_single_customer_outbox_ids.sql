@@ -0,0 +1,6 @@
+-- Take outbox ids one at a time instead of in blocks of 50, see V10
+-- The relay publishes pending events in id order. With blocks, each instance hands out ids from its own block,
+-- so a later change of a customer made on one instance could get a lower id than an earlier change made on another.
+-- Each id is now taken when the event is written, after the change it records, so the events of a customer are
+-- numbered in the order of their changes.
+ALTER SEQUENCE customer_outbox_id_seq INCREMENT BY 1;
@@ -0,0 +1,5 @@
+-- Allocate customer ids in blocks of 50 so Hibernate can batch inserts
+-- The pooled optimizer reserves the 50 values up to each nextval result and hands them out one by one,
+-- so rows inserted through the column default never collide with them. Such a row uses a whole nextval,
+-- and so 50 ids, on its own: inserts outside Hibernate should take ids in blocks of 50 the same way.
+ALTER SEQUENCE customers_id_seq INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- Alter the id column type in addresses table from SERIAL (INTEGER) to BIGINT,
+-- matching the Long id of the Address entity
+ALTER TABLE addresses ALTER COLUMN id TYPE BIGINT;
+
+-- Update the sequence to use bigint
+ALTER SEQUENCE addresses_id_seq AS BIGINT;
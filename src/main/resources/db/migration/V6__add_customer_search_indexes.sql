@@ -0,0 +1,13 @@
+-- Trigram indexes for searching customers by partial name, email or phone
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- GIN trigram indexes serve ILIKE '%fragment%' lookups on each searchable column
+CREATE INDEX idx_customers_first_name_trgm ON customers USING GIN (first_name gin_trgm_ops);
+CREATE INDEX idx_customers_last_name_trgm ON customers USING GIN (last_name gin_trgm_ops);
+CREATE INDEX idx_customers_email_trgm ON customers USING GIN (email gin_trgm_ops);
+
+-- Phones are stored as typed, so they are indexed by their digits only;
+-- queries must use the same expression to match this index
+CREATE INDEX idx_customers_phone_digits_trgm ON customers
+    USING GIN ((regexp_replace(phone, '[^0-9]', '', 'g')) gin_trgm_ops);
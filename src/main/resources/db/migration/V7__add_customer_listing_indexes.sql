@@ -0,0 +1,14 @@
+-- Indexes for listing customers by status and creation time with keyset paging
+
+-- Keyset paging over (created_at, id) needs every row to have a creation time
+UPDATE customers SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE customers ALTER COLUMN created_at SET NOT NULL;
+
+-- Serves status filters ordered by creation time, such as "all SUSPENDED customers this month"
+CREATE INDEX idx_customers_status_created_at_id ON customers(status, created_at, id);
+
+-- Serves listings ordered by creation time without a status filter
+CREATE INDEX idx_customers_created_at_id ON customers(created_at, id);
+
+-- Superseded by idx_customers_status_created_at_id, which starts with status
+DROP INDEX idx_customers_status;
@@ -0,0 +1,3 @@
+-- Add a version column for optimistic locking, incremented on every update
+-- A constant default does not rewrite the table
+ALTER TABLE customers ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,128 @@
+package com.customer.cache;
+
+import com.customer.dto.CustomerDTO;
+import com.customer.mock.CustomerMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerCache customerCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerCache = new CustomerCache(100, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should load once and serve later lookups by ID from the cache")
+    void getById_shouldLoadOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        Supplier<Optional<CustomerDTO>> loader = () -> {
+            loads.incrementAndGet();
+            return Optional.of(customerDTO);
+        };
+
+        // When
+        customerCache.getById(1L, loader);
+        Optional<CustomerDTO> result = customerCache.getById(1L, loader);
+
+        // Then
+        assertEquals(Optional.of(customerDTO), result);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a customer that was not found")
+    void getById_shouldNotCacheMissingCustomer() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Optional<CustomerDTO>> loader = () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // When
+        customerCache.getById(999L, loader);
+        Optional<CustomerDTO> result = customerCache.getById(999L, loader);
+
+        // Then
+        assertFalse(result.isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should serve lookups by email in any case from a customer cached by ID")
+    void getByEmail_shouldUseLowercasedEmailKey() {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        customerCache.getById(1L, () -> Optional.of(customerDTO));
+
+        // When
+        Optional<CustomerDTO> result = customerCache.getByEmail("John.Doe@Example.com",
+                () -> fail("should be served from the cache"));
+
+        // Then
+        assertEquals(Optional.of(customerDTO), result);
+    }
+
+    @Test
+    @DisplayName("Should ignore the old email after the customer's email changes")
+    void getByEmail_shouldIgnoreStaleEmail_whenEmailChanged() {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        customerCache.getById(1L, () -> Optional.of(customerDTO));
+        CustomerDTO updatedDTO = CustomerMock.createMockCustomerDTO();
+        updatedDTO.setEmail("new.email@example.com");
+        customerCache.putAfterCommit(updatedDTO);
+
+        // When
+        Optional<CustomerDTO> result = customerCache.getByEmail("john.doe@example.com", Optional::empty);
+
+        // Then
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    @DisplayName("Should reload the customer after it was evicted")
+    void evictAfterCommit_shouldRemoveCustomer() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Optional<CustomerDTO>> loader = () -> {
+            loads.incrementAndGet();
+            return Optional.of(CustomerMock.createMockCustomerDTO());
+        };
+        customerCache.getById(1L, loader);
+
+        // When
+        customerCache.evictAfterCommit(1L);
+        customerCache.getById(1L, loader);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should publish cache metrics to the meter registry")
+    void constructor_shouldRegisterCacheMetrics() {
+        // When
+        customerCache.getById(1L, Optional::empty);
+
+        // Then
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "customersById").tag("result", "miss").functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "customersById").functionCounter());
+    }
+}
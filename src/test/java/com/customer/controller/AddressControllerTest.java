@@ -0,0 +1,103 @@
+package com.customer.controller;
+
+import com.customer.dto.AddressCreateDTO;
+import com.customer.dto.AddressDTO;
+import com.customer.service.AddressService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AddressController.class)
+@Import(AddressControllerTest.TestConfig.class)
+class AddressControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AddressService addressService;
+
+    static class TestConfig {
+        @Bean
+        @Primary
+        public AddressService addressService() {
+            return org.mockito.Mockito.mock(AddressService.class);
+        }
+    }
+
+    private static AddressDTO createAddressDTO() {
+        return new AddressDTO(7L, "HOME", "1 Main St", "Springfield", "IL", "12345", "US");
+    }
+
+    @Test
+    @DisplayName("Should return addresses when getAddresses is called with existing customer")
+    void getAddresses_shouldReturnAddresses_whenCustomerExists() throws Exception {
+        // Given
+        when(addressService.getAddresses(1L)).thenReturn(Optional.of(List.of(createAddressDTO())));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/1/addresses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(7)))
+                .andExpect(jsonPath("$[0].street", is("1 Main St")));
+    }
+
+    @Test
+    @DisplayName("Should return not found when getAddresses is called with non-existing customer")
+    void getAddresses_shouldReturnNotFound_whenCustomerDoesNotExist() throws Exception {
+        // Given
+        when(addressService.getAddresses(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/99/addresses"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return created address when createAddress is called")
+    void createAddress_shouldReturnCreatedAddress() throws Exception {
+        // Given
+        AddressCreateDTO addressCreateDTO = new AddressCreateDTO("HOME", "1 Main St", "Springfield", "IL", "12345", "US");
+        when(addressService.createAddress(eq(1L), any(AddressCreateDTO.class))).thenReturn(Optional.of(createAddressDTO()));
+
+        // When & Then
+        mockMvc.perform(post("/api/customers/1/addresses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addressCreateDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(7)));
+    }
+
+    @Test
+    @DisplayName("Should return no content when deleteAddress is called with existing address")
+    void deleteAddress_shouldReturnNoContent_whenAddressExists() throws Exception {
+        // Given
+        when(addressService.deleteAddress(1L, 7L)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/api/customers/1/addresses/7"))
+                .andExpect(status().isNoContent());
+    }
+}
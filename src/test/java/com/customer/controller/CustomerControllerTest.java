@@ -1,11 +1,38 @@
 package com.customer.controller;
 
+import com.customer.dto.CustomerBatchResultDTO;
+import com.customer.dto.CustomerChangeEventDTO;
+import com.customer.dto.CustomerChangesDTO;
 import com.customer.dto.CustomerCreateDTO;
 import com.customer.dto.CustomerDTO;
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerLookupDTO;
+import com.customer.dto.CustomerLookupResultDTO;
+import com.customer.dto.CustomerPageDTO;
+import com.customer.dto.CustomerStatusTransitionDTO;
+import com.customer.dto.CustomerSyncPageDTO;
 import com.customer.dto.CustomerUpdateDTO;
+import com.customer.dto.CustomerView;
+import com.customer.enums.BatchItemStatus;
+import com.customer.enums.CustomerEventType;
+import com.customer.enums.CustomerSort;
+import com.customer.enums.CustomerStatus;
+import com.customer.enums.ExportFormat;
+import com.customer.mapper.InvalidPatchException;
 import com.customer.mock.CustomerMock;
+import com.customer.outbox.CustomerChangeFeed;
+import com.customer.outbox.ExpiredFeedPositionException;
 import com.customer.service.CustomerService;
+import com.customer.service.CustomerStatusTransitionService;
+import com.customer.util.CursorCodec;
+import com.customer.util.CursorCodec.Position;
+import com.customer.util.CursorCodec.ChangePosition;
+import com.customer.util.CursorCodec.SnapshotSyncPass;
+import com.customer.util.CursorCodec.SyncPosition;
+import com.customer.util.CursorCodec.TimeSyncPass;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,16 +40,40 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,32 +91,356 @@ class CustomerControllerTest {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private CustomerChangeFeed customerChangeFeed;
+
+    @Autowired
+    private CustomerStatusTransitionService customerStatusTransitionService;
+
     static class TestConfig {
         @Bean
         @Primary
         public CustomerService customerService() {
             return org.mockito.Mockito.mock(CustomerService.class);
         }
+
+        @Bean
+        @Primary
+        public CustomerChangeFeed customerChangeFeed() {
+            return org.mockito.Mockito.mock(CustomerChangeFeed.class);
+        }
+
+        @Bean
+        @Primary
+        public CustomerStatusTransitionService customerStatusTransitionService() {
+            return org.mockito.Mockito.mock(CustomerStatusTransitionService.class);
+        }
+    }
+
+    /**
+     * The mocks are shared beans, so stubs and calls of one test must not leak into the next.
+     */
+    @BeforeEach
+    void resetMocks() {
+        reset(customerService, customerChangeFeed, customerStatusTransitionService);
     }
 
     @Test
-    @DisplayName("Should return all customers when getAllCustomers is called")
-    void getAllCustomers_shouldReturnAllCustomers() throws Exception {
+    @DisplayName("Should return first page of customers when getCustomers is called without cursor")
+    void getCustomers_shouldReturnFirstPage() throws Exception {
         // Given
-        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
-        when(customerService.getAllCustomers()).thenReturn(Arrays.asList(customerDTO, customerDTO));
+        CustomerView customer = CustomerMock.createMockCustomerView();
+        String nextCursor = CursorCodec.encodeId(1L);
+        when(customerService.getCustomerPage(new CustomerFilterDTO(), CustomerSort.ID, null, 50, false))
+                .thenReturn(new CustomerPageDTO(Arrays.asList(customer, customer), nextCursor));
 
         // When & Then
         mockMvc.perform(get("/api/customers"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].firstName", is("John")))
-                .andExpect(jsonPath("$[0].lastName", is("Doe")))
-                .andExpect(jsonPath("$[0].email", is("john.doe@example.com")))
-                .andExpect(jsonPath("$[0].phone", is("123-456-7890")))
-                .andExpect(jsonPath("$[0].status", is("ACTIVE")));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].firstName", is("John")))
+                .andExpect(jsonPath("$.content[0].lastName", is("Doe")))
+                .andExpect(jsonPath("$.content[0].email", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.content[0].phone", is("123-456-7890")))
+                .andExpect(jsonPath("$.content[0].status", is("ACTIVE")))
+                .andExpect(jsonPath("$.nextCursor", is(nextCursor)));
+    }
+
+    @Test
+    @DisplayName("Should decode cursor and cap limit when getCustomers is called with cursor")
+    void getCustomers_shouldDecodeCursorAndCapLimit() throws Exception {
+        // Given
+        CustomerView customer = CustomerMock.createMockCustomerView();
+        when(customerService.getCustomerPage(new CustomerFilterDTO(), CustomerSort.ID, new Position(null, 10L), 500, false))
+                .thenReturn(new CustomerPageDTO(Arrays.asList(customer), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                .param("after", CursorCodec.encodeId(10L))
+                .param("limit", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when getCustomers is called with malformed cursor")
+    void getCustomers_shouldReturnBadRequest_whenCursorIsMalformed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(customerService, never()).getCustomerPage(any(), any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should ask for addresses when getCustomers is called with include=addresses")
+    void getCustomers_shouldIncludeAddresses() throws Exception {
+        // Given
+        when(customerService.getCustomerPage(new CustomerFilterDTO(), CustomerSort.ID, null, 50, true))
+                .thenReturn(new CustomerPageDTO(Collections.emptyList(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                .param("include", "addresses"))
+                .andExpect(status().isOk());
+
+        verify(customerService).getCustomerPage(new CustomerFilterDTO(), CustomerSort.ID, null, 50, true);
+    }
+
+    @Test
+    @DisplayName("Should return bad request when getCustomers is called with unknown include")
+    void getCustomers_shouldReturnBadRequest_whenIncludeIsUnknown() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                .param("include", "orders"))
+                .andExpect(status().isBadRequest());
+
+        verify(customerService, never()).getCustomerPage(any(), any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should pass filters, sort and cursor when getCustomers is called with filters")
+    void getCustomers_shouldApplyFiltersAndSort() throws Exception {
+        // Given
+        OffsetDateTime createdFrom = OffsetDateTime.parse("2024-06-01T00:00:00Z");
+        OffsetDateTime createdTo = OffsetDateTime.parse("2024-07-01T00:00:00Z");
+        OffsetDateTime lastCreatedAt = OffsetDateTime.parse("2024-06-15T10:30:00Z");
+        CustomerFilterDTO filter = new CustomerFilterDTO(CustomerStatus.SUSPENDED, createdFrom, createdTo);
+        when(customerService.getCustomerPage(filter, CustomerSort.CREATED_AT_DESC, new Position(lastCreatedAt, 42L), 50, false))
+                .thenReturn(new CustomerPageDTO(Collections.emptyList(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                .param("status", "SUSPENDED")
+                .param("createdFrom", "2024-06-01T00:00:00Z")
+                .param("createdTo", "2024-07-01T00:00:00Z")
+                .param("sort", "-createdAt")
+                .param("after", CursorCodec.encodeCreatedAt(lastCreatedAt, 42L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when getCustomers is called with unknown sort or cursor of another sort")
+    void getCustomers_shouldReturnBadRequest_whenSortOrCursorIsInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                .param("sort", "email"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/customers")
+                .param("sort", "createdAt")
+                .param("after", CursorCodec.encodeId(10L)))
+                .andExpect(status().isBadRequest());
+
+        verify(customerService, never()).getCustomerPage(any(), any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should return matching customers when searchCustomers is called")
+    void searchCustomers_shouldReturnMatches() throws Exception {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        when(customerService.searchCustomers("doe", 100)).thenReturn(List.of(customerDTO));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/search")
+                .param("q", " doe ")
+                .param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].lastName", is("Doe")));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when searchCustomers is called with too short text")
+    void searchCustomers_shouldReturnBadRequest_whenQueryIsTooShort() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/search")
+                .param("q", "jo "))
+                .andExpect(status().isBadRequest());
+
+        verify(customerService, never()).searchCustomers(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should stream NDJSON when exportCustomers is called")
+    void exportCustomers_shouldStreamNdjson() throws Exception {
+        // Given
+        String body = "{\"id\":1}\n{\"id\":2}\n";
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(customerService).exportCustomers(any(OutputStream.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/customers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    @DisplayName("Should stream filtered CSV as an attachment when exportCustomersCsv is called")
+    void exportCustomersCsv_shouldStreamFilteredCsv() throws Exception {
+        // Given
+        String body = "id,first_name\n1,John\n";
+        CustomerFilterDTO filter = new CustomerFilterDTO(CustomerStatus.ACTIVE,
+                OffsetDateTime.parse("2024-01-01T00:00:00Z"), null);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(customerService).copyCustomers(eq(filter), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/customers/export.csv")
+                .param("status", "ACTIVE")
+                .param("createdFrom", "2024-01-01T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"customers.csv\""))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    @DisplayName("Should gzip the export when the client accepts gzip")
+    void exportCustomersCsv_shouldGzip_whenClientAcceptsGzip() throws Exception {
+        // Given
+        String body = "id,first_name\n1,John\n";
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(customerService).copyCustomers(eq(new CustomerFilterDTO()), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/customers/export.csv")
+                .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals(body, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should close the gzip stream and fail the request when the gzipped export fails")
+    void exportCustomersCsv_shouldCloseGzipStream_whenCopyFails() throws Exception {
+        // Given
+        AtomicReference<OutputStream> gzip = new AtomicReference<>();
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            gzip.set(outputStream);
+            outputStream.write("id,first_name\n".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("COPY failed");
+        }).when(customerService).copyCustomers(eq(new CustomerFilterDTO()), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/customers/export.csv")
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        IOException failure = assertThrows(IOException.class, () -> mockMvc.perform(asyncDispatch(mvcResult)));
+        assertEquals("COPY failed", failure.getMessage());
+        assertThrows(IOException.class, () -> gzip.get().write('x'));
+    }
+
+    @Test
+    @DisplayName("Should not gzip the export when the client refuses gzip")
+    void exportCustomersBinary_shouldNotGzip_whenGzipQualityIsZero() throws Exception {
+        // Given
+        byte[] body = "PGCOPY\n".getBytes(StandardCharsets.UTF_8);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(body);
+            return null;
+        }).when(customerService).copyCustomers(eq(new CustomerFilterDTO()), eq(ExportFormat.BINARY), any(OutputStream.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/customers/export.bin")
+                .header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    @DisplayName("Should stream the transitioned IDs when transitionStatus is called with a filter")
+    void transitionStatus_shouldStreamTransitionedIds() throws Exception {
+        // Given
+        CustomerStatusTransitionDTO transition = new CustomerStatusTransitionDTO(CustomerStatus.SUSPENDED, null,
+                new CustomerFilterDTO(CustomerStatus.ACTIVE, null, OffsetDateTime.parse("2024-01-01T00:00:00Z")));
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("3\n7\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(customerStatusTransitionService).transitionStatus(eq(transition), any(OutputStream.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/api/customers/status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transition)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("3\n7\n"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when transitionStatus is called with both, neither or invalid IDs and filter")
+    void transitionStatus_shouldReturnBadRequest_whenSelectionIsInvalid() throws Exception {
+        List<CustomerStatusTransitionDTO> invalid = List.of(
+                new CustomerStatusTransitionDTO(CustomerStatus.SUSPENDED, null, null),
+                new CustomerStatusTransitionDTO(CustomerStatus.SUSPENDED, List.of(1L),
+                        new CustomerFilterDTO(CustomerStatus.ACTIVE, null, null)),
+                new CustomerStatusTransitionDTO(CustomerStatus.SUSPENDED, List.of(), null),
+                new CustomerStatusTransitionDTO(CustomerStatus.SUSPENDED, Arrays.asList(1L, null), null),
+                new CustomerStatusTransitionDTO(CustomerStatus.SUSPENDED, null, new CustomerFilterDTO()),
+                new CustomerStatusTransitionDTO(null, List.of(1L), null));
+
+        for (CustomerStatusTransitionDTO transition : invalid) {
+            mockMvc.perform(post("/api/customers/status-transitions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(transition)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(customerStatusTransitionService, never()).transitionStatus(any(), any());
     }
 
     @Test
@@ -87,6 +462,53 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.status", is("ACTIVE")));
     }
 
+    @Test
+    @DisplayName("Should return the version as ETag when getCustomerById is called")
+    void getCustomerById_shouldReturnETag() throws Exception {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        customerDTO.setVersion(3L);
+        when(customerService.getCustomerById(1L)).thenReturn(Optional.of(customerDTO));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return not modified without loading the customer when If-None-Match holds the current ETag")
+    void getCustomerById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        // Given
+        when(customerService.getCustomerVersion(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/1")
+                .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(customerService, never()).getCustomerById(any());
+    }
+
+    @Test
+    @DisplayName("Should return the customer when If-None-Match holds an old ETag")
+    void getCustomerById_shouldReturnCustomer_whenETagIsStale() throws Exception {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        customerDTO.setVersion(4L);
+        when(customerService.getCustomerVersion(1L)).thenReturn(Optional.of(4L));
+        when(customerService.getCustomerById(1L)).thenReturn(Optional.of(customerDTO));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/1")
+                .header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     @DisplayName("Should return not found when getCustomerById is called with non-existing ID")
     void getCustomerById_shouldReturnNotFound_whenIdDoesNotExist() throws Exception {
@@ -139,8 +561,7 @@ class CustomerControllerTest {
         CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
         CustomerCreateDTO customerCreateDTO = CustomerMock.createMockCustomerCreateDTO();
         
-        when(customerService.existsByEmail(customerCreateDTO.getEmail())).thenReturn(false);
-        when(customerService.createCustomer(any(CustomerCreateDTO.class))).thenReturn(customerDTO);
+        when(customerService.createCustomer(any(CustomerCreateDTO.class))).thenReturn(Optional.of(customerDTO));
 
         // When & Then
         mockMvc.perform(post("/api/customers")
@@ -161,7 +582,7 @@ class CustomerControllerTest {
     void createCustomer_shouldReturnConflict_whenEmailExists() throws Exception {
         // Given
         CustomerCreateDTO customerCreateDTO = CustomerMock.createMockCustomerCreateDTO();
-        when(customerService.existsByEmail(customerCreateDTO.getEmail())).thenReturn(true);
+        when(customerService.createCustomer(any(CustomerCreateDTO.class))).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/api/customers")
@@ -170,6 +591,38 @@ class CustomerControllerTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    @DisplayName("Should return result of each item when createCustomers is called")
+    void createCustomers_shouldReturnResultOfEachItem() throws Exception {
+        // Given
+        CustomerCreateDTO customerCreateDTO = CustomerMock.createMockCustomerCreateDTO();
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        when(customerService.createCustomers(any())).thenReturn(Arrays.asList(
+                new CustomerBatchResultDTO(0, BatchItemStatus.CREATED, customerDTO),
+                new CustomerBatchResultDTO(1, BatchItemStatus.CONFLICT, null)));
+
+        // When & Then
+        mockMvc.perform(post("/api/customers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(customerCreateDTO, customerCreateDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].customer.id", is(1)))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when createCustomers is called with empty batch")
+    void createCustomers_shouldReturnBadRequest_whenBatchIsEmpty() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/customers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.emptyList())))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should update and return customer when updateCustomer is called with existing ID")
     void updateCustomer_shouldUpdateAndReturnCustomer_whenIdExists() throws Exception {
@@ -178,7 +631,7 @@ class CustomerControllerTest {
         CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
         Long id = 1L;
         
-        when(customerService.updateCustomer(eq(id), any(CustomerUpdateDTO.class))).thenReturn(Optional.of(customerDTO));
+        when(customerService.updateCustomer(eq(id), isNull(), any(CustomerUpdateDTO.class))).thenReturn(Optional.of(customerDTO));
 
         // When & Then
         mockMvc.perform(put("/api/customers/1")
@@ -200,7 +653,7 @@ class CustomerControllerTest {
         // Given
         CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
         Long id = 999L;
-        when(customerService.updateCustomer(eq(id), any(CustomerUpdateDTO.class))).thenReturn(Optional.empty());
+        when(customerService.updateCustomer(eq(id), isNull(), any(CustomerUpdateDTO.class))).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(put("/api/customers/999")
@@ -209,13 +662,251 @@ class CustomerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should pass the If-Match version when updateCustomer is called with an ETag")
+    void updateCustomer_shouldPassExpectedVersion_whenIfMatchIsSent() throws Exception {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        customerDTO.setVersion(4L);
+        CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
+        when(customerService.updateCustomer(eq(1L), eq(3L), any(CustomerUpdateDTO.class))).thenReturn(Optional.of(customerDTO));
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(customerUpdateDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Should return precondition failed when updateCustomer finds a newer version")
+    void updateCustomer_shouldReturnPreconditionFailed_whenVersionIsStale() throws Exception {
+        // Given
+        CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
+        when(customerService.updateCustomer(eq(1L), eq(3L), any(CustomerUpdateDTO.class)))
+                .thenThrow(new OptimisticLockingFailureException("Customer 1 was modified after version 3"));
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(customerUpdateDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Should sync from the given time when getChangedCustomers is called with ts")
+    void getChangedCustomers_shouldStartFromTs() throws Exception {
+        // Given
+        CustomerView customer = CustomerMock.createMockCustomerView();
+        Position start = new Position(OffsetDateTime.parse("2024-06-01T00:00:00Z"), 0L);
+        when(customerService.getChangedCustomers(new TimeSyncPass(null, start, start), 100))
+                .thenReturn(new CustomerSyncPageDTO(List.of(customer), List.of(9L), "next", false));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/changed-since").param("ts", "2024-06-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed", hasSize(1)))
+                .andExpect(jsonPath("$.changed[0].id", is(1)))
+                .andExpect(jsonPath("$.deleted[0]", is(9)))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    @DisplayName("Should continue from the cursor when getChangedCustomers is called with after")
+    void getChangedCustomers_shouldContinueFromCursor() throws Exception {
+        // Given
+        SyncPosition since = new SnapshotSyncPass("100:105:102", "108:110:109", new ChangePosition(106L, 2L),
+                new ChangePosition(104L, 9L));
+        when(customerService.getChangedCustomers(since, 500))
+                .thenReturn(new CustomerSyncPageDTO(List.of(), List.of(), CursorCodec.encodeSync(since), false));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/changed-since")
+                        .param("after", CursorCodec.encodeSync(since))
+                        .param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when getChangedCustomers is called with both ts and after, or a listing cursor")
+    void getChangedCustomers_shouldReturnBadRequest_whenPositionIsInvalid() throws Exception {
+        String cursor = CursorCodec.encodeSync(SnapshotSyncPass.after("100:105:102"));
+        mockMvc.perform(get("/api/customers/changed-since")
+                        .param("ts", "2024-06-01T00:00:00Z")
+                        .param("after", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/customers/changed-since").param("after", CursorCodec.encodeId(1L)))
+                .andExpect(status().isBadRequest());
+        verify(customerService, never()).getChangedCustomers(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return changes after the given position when getChanges is called")
+    void getChanges_shouldReturnChangesAfterSince() throws Exception {
+        // Given
+        CustomerChangeEventDTO event = new CustomerChangeEventDTO(8L, 1L, CustomerEventType.DELETED,
+                OffsetDateTime.parse("2024-06-15T10:30:00Z"), null);
+        DeferredResult<CustomerChangesDTO> changes = new DeferredResult<>();
+        changes.setResult(new CustomerChangesDTO(List.of(event), 8L));
+        when(customerChangeFeed.poll(7L, 100)).thenReturn(changes);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/customers/changes").param("since", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(1)))
+                .andExpect(jsonPath("$.events[0].seq", is(8)))
+                .andExpect(jsonPath("$.events[0].type", is("DELETED")))
+                .andExpect(jsonPath("$.events[0].customer", nullValue()))
+                .andExpect(jsonPath("$.nextSince", is(8)));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when getChanges is called with a negative position")
+    void getChanges_shouldReturnBadRequest_whenSinceIsNegative() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/customers/changes").param("since", "-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+        verify(customerChangeFeed, never()).poll(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return gone when getChanges is called from a position whose changes were deleted")
+    void getChanges_shouldReturnGone_whenPositionExpired() throws Exception {
+        // Given
+        when(customerChangeFeed.poll(3L, 100)).thenThrow(new ExpiredFeedPositionException(3L, 20L));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/changes").param("since", "3"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    @DisplayName("Should return found customers and missing keys when lookupCustomers is called")
+    void lookupCustomers_shouldReturnFoundAndMissing() throws Exception {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        when(customerService.lookupCustomers(List.of(1L, 99L), List.of("nobody@example.com")))
+                .thenReturn(new CustomerLookupResultDTO(List.of(customerDTO), List.of(99L), List.of("nobody@example.com")));
+
+        // When & Then
+        mockMvc.perform(post("/api/customers/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CustomerLookupDTO(List.of(1L, 99L), List.of("nobody@example.com")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers", hasSize(1)))
+                .andExpect(jsonPath("$.customers[0].id", is(1)))
+                .andExpect(jsonPath("$.missingIds[0]", is(99)))
+                .andExpect(jsonPath("$.missingEmails[0]", is("nobody@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when lookupCustomers is called without keys or with too many")
+    void lookupCustomers_shouldReturnBadRequest_whenLookupIsEmptyOrTooLarge() throws Exception {
+        List<Long> tooManyIds = LongStream.rangeClosed(1, 1001).boxed().toList();
+        mockMvc.perform(post("/api/customers/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/customers/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CustomerLookupDTO(tooManyIds, List.of()))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/customers/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,null]}"))
+                .andExpect(status().isBadRequest());
+        verify(customerService, never()).lookupCustomers(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should patch customer when patchCustomer is called with a merge patch")
+    void patchCustomer_shouldReturnPatchedCustomer() throws Exception {
+        // Given
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        customerDTO.setStatus(CustomerStatus.INACTIVE);
+        customerDTO.setVersion(4L);
+        ObjectNode patch = objectMapper.createObjectNode().put("status", "INACTIVE");
+        when(customerService.patchCustomer(1L, 3L, patch)).thenReturn(Optional.of(customerDTO));
+
+        // When & Then
+        mockMvc.perform(patch("/api/customers/1")
+                .header("If-Match", "\"3\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"status\":\"INACTIVE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.status", is("INACTIVE")));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when patchCustomer is called with an invalid patch")
+    void patchCustomer_shouldReturnBadRequest_whenPatchIsInvalid() throws Exception {
+        // Given
+        when(customerService.patchCustomer(eq(1L), isNull(), any(ObjectNode.class)))
+                .thenThrow(new InvalidPatchException("Field must be a string: lastName"));
+
+        // When & Then
+        mockMvc.perform(patch("/api/customers/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"lastName\":null}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/customers/1")
+                .contentType("application/merge-patch+json")
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return not found when patchCustomer is called with non-existing ID")
+    void patchCustomer_shouldReturnNotFound_whenIdDoesNotExist() throws Exception {
+        // Given
+        when(customerService.patchCustomer(eq(999L), isNull(), any(ObjectNode.class))).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(patch("/api/customers/999")
+                .contentType("application/merge-patch+json")
+                .content("{\"status\":\"INACTIVE\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return precondition failed when updateCustomer is called with a foreign ETag")
+    void updateCustomer_shouldReturnPreconditionFailed_whenIfMatchIsMalformed() throws Exception {
+        // Given
+        CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/1")
+                .header("If-Match", "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(customerUpdateDTO)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(customerService, never()).updateCustomer(any(), any(), any());
+    }
+
     @Test
     @DisplayName("Should return no content when deleteCustomer is called with existing ID")
     void deleteCustomer_shouldReturnNoContent_whenIdExists() throws Exception {
         // Given
-        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
         Long id = 1L;
-        when(customerService.getCustomerById(id)).thenReturn(Optional.of(customerDTO));
+        when(customerService.deleteCustomer(id)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(delete("/api/customers/1"))
@@ -227,7 +918,7 @@ class CustomerControllerTest {
     void deleteCustomer_shouldReturnNotFound_whenIdDoesNotExist() throws Exception {
         // Given
         Long id = 999L;
-        when(customerService.getCustomerById(id)).thenReturn(Optional.empty());
+        when(customerService.deleteCustomer(id)).thenReturn(false);
 
         // When & Then
         mockMvc.perform(delete("/api/customers/999"))
@@ -0,0 +1,157 @@
+package com.customer.controller;
+
+import com.customer.dto.CustomerImportJobDTO;
+import com.customer.dto.CustomerImportRejectDTO;
+import com.customer.enums.ImportJobStatus;
+import com.customer.enums.ImportRejectReason;
+import com.customer.service.CustomerImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CustomerImportController.class)
+@Import(CustomerImportControllerTest.TestConfig.class)
+class CustomerImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    static class TestConfig {
+        @Bean
+        @Primary
+        public CustomerImportService customerImportService() {
+            return org.mockito.Mockito.mock(CustomerImportService.class);
+        }
+    }
+
+    /**
+     * The mock is a shared bean, so stubs of one test, like a thrown rejection, must not leak into the next.
+     */
+    @BeforeEach
+    void resetMocks() {
+        reset(customerImportService);
+    }
+
+    private static CustomerImportJobDTO createJobDTO(ImportJobStatus status) {
+        return new CustomerImportJobDTO(1L, "partners.csv", status, 1024L, 0L, null, null, null, null,
+                OffsetDateTime.parse("2024-06-15T10:30:00Z"), null);
+    }
+
+    private static MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "partners.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should accept the file and return the pending job with its location")
+    void startImport_shouldReturnAcceptedJob() throws Exception {
+        // Given
+        when(customerImportService.startImport(any())).thenReturn(createJobDTO(ImportJobStatus.PENDING));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/customers/imports")
+                .file(csvFile("firstName,lastName,email,phone,status\nJohn,Doe,john.doe@example.com,,\n")))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/customers/imports/1"))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the file is empty")
+    void startImport_shouldReturnBadRequest_whenFileIsEmpty() throws Exception {
+        // When & Then
+        mockMvc.perform(multipart("/api/customers/imports").file(csvFile("")))
+                .andExpect(status().isBadRequest());
+
+        verify(customerImportService, never()).startImport(any());
+    }
+
+    @Test
+    @DisplayName("Should return 503 when too many imports are waiting")
+    void startImport_shouldReturnServiceUnavailable_whenImportIsRejected() throws Exception {
+        // Given
+        when(customerImportService.startImport(any())).thenThrow(new RejectedExecutionException());
+
+        // When & Then
+        mockMvc.perform(multipart("/api/customers/imports").file(csvFile("firstName,lastName,email,phone,status\n")))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("Should return the job with its progress when getJob is called with existing ID")
+    void getJob_shouldReturnJob_whenJobExists() throws Exception {
+        // Given
+        when(customerImportService.getJob(1L)).thenReturn(Optional.of(createJobDTO(ImportJobStatus.COPYING)));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/imports/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COPYING")))
+                .andExpect(jsonPath("$.bytesTotal", is(1024)));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when getJob is called with non-existing ID")
+    void getJob_shouldReturnNotFound_whenJobDoesNotExist() throws Exception {
+        // Given
+        when(customerImportService.getJob(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/imports/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return the rejects after a line and cap the limit")
+    void getRejects_shouldReturnRejectsAndCapLimit() throws Exception {
+        // Given
+        when(customerImportService.getRejects(1L, 10L, 1000)).thenReturn(Optional.of(List.of(
+                new CustomerImportRejectDTO(12L, "john.doe@example.com", ImportRejectReason.EMAIL_TAKEN))));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/imports/1/rejects")
+                .param("afterLine", "10")
+                .param("limit", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].lineNumber", is(12)))
+                .andExpect(jsonPath("$[0].reason", is("EMAIL_TAKEN")));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when getRejects is called with non-existing job")
+    void getRejects_shouldReturnNotFound_whenJobDoesNotExist() throws Exception {
+        // Given
+        when(customerImportService.getRejects(99L, 0L, 100)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/imports/99/rejects"))
+                .andExpect(status().isNotFound());
+    }
+}
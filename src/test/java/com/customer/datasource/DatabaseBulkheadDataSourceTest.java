@@ -0,0 +1,84 @@
+package com.customer.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseBulkheadDataSourceTest {
+
+    private DataSource pool;
+    private Connection poolConnection;
+    private DatabaseBulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        poolConnection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(poolConnection);
+        dataSource = new DatabaseBulkheadDataSource(pool, 1, Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("Should hand out a pooled connection when a permit is available")
+    void getConnection_shouldDelegate_whenPermitAvailable() throws Exception {
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        // Then
+        verify(poolConnection).createStatement();
+        verify(poolConnection).close();
+    }
+
+    @Test
+    @DisplayName("Should fail without asking the pool when all permits are taken")
+    void getConnection_shouldFail_whenPermitsExhausted() throws Exception {
+        // Given
+        Connection held = dataSource.getConnection();
+
+        // When / Then
+        assertThrows(DatabaseBulkheadFullException.class, dataSource::getConnection);
+        verify(pool, times(1)).getConnection();
+        held.close();
+    }
+
+    @Test
+    @DisplayName("Should give the permit back once when a connection is closed, even if closed twice")
+    void getConnection_shouldReleasePermitOnClose() throws Exception {
+        // Given
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        // When
+        Connection first = dataSource.getConnection();
+
+        // Then
+        assertThrows(DatabaseBulkheadFullException.class, dataSource::getConnection);
+        first.close();
+    }
+
+    @Test
+    @DisplayName("Should give the permit back when the pool fails to hand out a connection")
+    void getConnection_shouldReleasePermit_whenPoolFails() throws Exception {
+        // Given
+        when(pool.getConnection()).thenThrow(new SQLException("Pool timeout")).thenReturn(poolConnection);
+
+        // When
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        // Then
+        try (Connection connection = dataSource.getConnection()) {
+            assertNotNull(connection);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.customer.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Jdbc4ValidationPostProcessorTest {
+
+    @Test
+    @DisplayName("Should clear the connection test query of Hikari pools")
+    void postProcessBeforeInitialization_shouldClearTestQuery() {
+        // Given
+        HikariDataSource pool = new HikariDataSource();
+        pool.setConnectionTestQuery("SELECT 1");
+
+        // When
+        Object processed = new Jdbc4ValidationPostProcessor().postProcessBeforeInitialization(pool, "primaryDataSource");
+
+        // Then
+        assertSame(pool, processed);
+        assertNull(pool.getConnectionTestQuery());
+    }
+}
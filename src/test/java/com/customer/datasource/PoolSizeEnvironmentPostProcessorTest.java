@@ -0,0 +1,64 @@
+package com.customer.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizeEnvironmentPostProcessorTest {
+
+    @Test
+    @DisplayName("Should size the pools from the core count over configuration files")
+    void postProcessEnvironment_shouldSizePoolsFromCores() {
+        // Given
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application-prod.properties", Map.of(
+                PoolSizeEnvironmentPostProcessor.PER_CORE, "2",
+                PoolSizeEnvironmentPostProcessor.SPINDLES, "1",
+                "spring.datasource.hikari.maximum-pool-size", "5")));
+
+        // When
+        new PoolSizeEnvironmentPostProcessor(8).postProcessEnvironment(environment, null);
+
+        // Then
+        assertEquals(17, environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class));
+        assertEquals(17, environment.getProperty("spring.datasource.hikari.minimum-idle", Integer.class));
+        assertEquals(17, environment.getProperty("customer.datasource.replica.hikari.maximum-pool-size", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should let system properties pin the pool size")
+    void postProcessEnvironment_shouldNotOverrideSystemProperties() {
+        // Given
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource(
+                StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME + "-test",
+                Map.of("spring.datasource.hikari.maximum-pool-size", "30")));
+        environment.getPropertySources().addLast(new MapPropertySource("application-prod.properties",
+                Map.of(PoolSizeEnvironmentPostProcessor.PER_CORE, "2")));
+
+        // When
+        new PoolSizeEnvironmentPostProcessor(8).postProcessEnvironment(environment, null);
+
+        // Then
+        assertEquals(30, environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class));
+        assertEquals(16, environment.getProperty("spring.datasource.hikari.minimum-idle", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should leave the pool size alone when no per-core size is configured")
+    void postProcessEnvironment_shouldDoNothing_whenPerCoreIsNotSet() {
+        // Given
+        StandardEnvironment environment = new StandardEnvironment();
+
+        // When
+        new PoolSizeEnvironmentPostProcessor(8).postProcessEnvironment(environment, null);
+
+        // Then
+        assertFalse(environment.getPropertySources().contains(PoolSizeEnvironmentPostProcessor.PROPERTY_SOURCE_NAME));
+    }
+}
@@ -0,0 +1,91 @@
+package com.customer.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadOnlyRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadOnlyRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReadOnlyRoutingDataSource(primary, replica, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should use the replica for read-only connections")
+    void getConnection_shouldUseReplica_whenReadOnly() throws Exception {
+        // Given
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+
+        // Then
+        verify(replicaConnection).createStatement();
+        verify(primary, never()).getConnection();
+        assertEquals(1.0, routeCount("replica"));
+    }
+
+    @Test
+    @DisplayName("Should use the primary for read-write connections")
+    void getConnection_shouldUsePrimary_whenReadWrite() throws Exception {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        // Then
+        verify(primaryConnection).createStatement();
+        verify(replica, never()).getConnection();
+        assertEquals(1.0, routeCount("primary"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is unavailable")
+    void getConnection_shouldFallBackToPrimary_whenReplicaUnavailable() throws Exception {
+        // Given
+        when(replica.getConnection()).thenThrow(new SQLException("Connection is not available"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+
+        // Then
+        verify(primaryConnection).createStatement();
+        assertEquals(0.0, routeCount("replica"));
+        assertEquals(1.0, routeCount("primary-fallback"));
+    }
+
+    private double routeCount(String target) {
+        return meterRegistry.get(ReadOnlyRoutingDataSource.ROUTE_METRIC).tag("target", target).counter().count();
+    }
+}
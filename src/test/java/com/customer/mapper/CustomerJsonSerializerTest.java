@@ -0,0 +1,138 @@
+package com.customer.mapper;
+
+import com.customer.dto.AddressDTO;
+import com.customer.dto.CustomerDTO;
+import com.customer.dto.CustomerView;
+import com.customer.mock.CustomerMock;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerJsonSerializerTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON as serializing the CustomerDTO")
+    void serialize_shouldMatchDTOSerialization() throws Exception {
+        // Given
+        CustomerView customer = CustomerMock.createMockCustomerView();
+
+        // When
+        String json = objectMapper.writeValueAsString(customer);
+
+        // Then
+        assertEquals(objectMapper.writeValueAsString(toDTO(customer)), json);
+    }
+
+    @Test
+    @DisplayName("Should write timestamps as numbers like the CustomerDTO when the mapper writes dates as timestamps")
+    void serialize_shouldMatchDTOSerialization_whenDatesAreTimestamps() throws Exception {
+        // Given
+        ObjectMapper timestampMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        CustomerView customer = CustomerMock.createMockCustomerView();
+
+        // When
+        String json = timestampMapper.writeValueAsString(customer);
+
+        // Then
+        assertEquals(timestampMapper.writeValueAsString(toDTO(customer)), json);
+    }
+
+    @Test
+    @DisplayName("Should write null for missing fields")
+    void serialize_shouldWriteNullForMissingFields() throws Exception {
+        // Given
+        CustomerView customer = new CustomerView(null, null, null, null, null, null, null, null);
+
+        // When
+        String json = objectMapper.writeValueAsString(customer);
+
+        // Then
+        assertEquals(objectMapper.writeValueAsString(new CustomerDTO()), json);
+    }
+
+    @Test
+    @DisplayName("Should write addresses when the view has them")
+    void serialize_shouldWriteAddresses() throws Exception {
+        // Given
+        CustomerView customer = CustomerMock.createMockCustomerView().withAddresses(List.of(
+                new AddressDTO(7L, "HOME", "1 Main St", "Springfield", null, "12345", "US")));
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(customer));
+
+        // Then
+        assertEquals(1, json.get("addresses").size());
+        JsonNode address = json.get("addresses").get(0);
+        assertEquals(7L, address.get("id").asLong());
+        assertEquals("HOME", address.get("addressType").asText());
+        assertEquals("1 Main St", address.get("street").asText());
+        assertEquals("Springfield", address.get("city").asText());
+        assertTrue(address.get("state").isNull());
+        assertEquals("12345", address.get("postalCode").asText());
+        assertEquals("US", address.get("country").asText());
+    }
+
+    @Test
+    @DisplayName("Should format timestamps exactly like ISO_OFFSET_DATE_TIME")
+    void formatIsoOffsetDateTime_shouldMatchIsoFormatter() {
+        OffsetDateTime[] values = {
+                OffsetDateTime.of(2023, 6, 15, 10, 30, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(2023, 6, 15, 10, 30, 5, 120_000_000, ZoneOffset.UTC),
+                OffsetDateTime.of(999, 1, 2, 3, 4, 5, 123_456_789, ZoneOffset.ofHours(2)),
+                OffsetDateTime.of(2024, 12, 31, 23, 59, 59, 1_000, ZoneOffset.ofHoursMinutes(-3, -30)),
+                OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 100, ZoneOffset.ofHours(14))
+        };
+        char[] buffer = new char[35];
+
+        for (OffsetDateTime value : values) {
+            int length = CustomerJsonSerializer.formatIsoOffsetDateTime(value, buffer);
+            assertEquals(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value), new String(buffer, 0, length));
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave unusual timestamps to the ISO formatter")
+    void formatIsoOffsetDateTime_shouldRejectUnsupportedValues() {
+        char[] buffer = new char[35];
+
+        assertEquals(-1, CustomerJsonSerializer.formatIsoOffsetDateTime(
+                OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), buffer));
+        assertEquals(-1, CustomerJsonSerializer.formatIsoOffsetDateTime(
+                OffsetDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHoursMinutesSeconds(1, 0, 30)), buffer));
+    }
+
+    private static CustomerDTO toDTO(CustomerView customer) {
+        CustomerDTO customerDTO = new CustomerDTO();
+        customerDTO.setId(customer.id());
+        customerDTO.setFirstName(customer.firstName());
+        customerDTO.setLastName(customer.lastName());
+        customerDTO.setEmail(customer.email());
+        customerDTO.setPhone(customer.phone());
+        customerDTO.setCreatedAt(customer.createdAt());
+        customerDTO.setUpdatedAt(customer.updatedAt());
+        customerDTO.setStatus(customer.status());
+        return customerDTO;
+    }
+}
@@ -4,6 +4,7 @@ import com.customer.dto.CustomerCreateDTO;
 import com.customer.dto.CustomerDTO;
 import com.customer.dto.CustomerUpdateDTO;
 import com.customer.entity.Customer;
+import com.customer.enums.CustomerStatus;
 import com.customer.mock.CustomerMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -108,6 +109,20 @@ class CustomerMapperTest {
         assertEquals(customerCreateDTO.getStatus(), entity.getStatus());
     }
 
+    @Test
+    @DisplayName("Should keep default ACTIVE status when CustomerCreateDTO has no status")
+    void toEntity_shouldKeepDefaultStatusWhenCreateDTOHasNoStatus() {
+        // Given
+        CustomerCreateDTO customerCreateDTO = CustomerMock.createMockCustomerCreateDTO();
+        customerCreateDTO.setStatus(null);
+
+        // When
+        Customer entity = customerMapper.toEntity(customerCreateDTO);
+
+        // Then
+        assertEquals(CustomerStatus.ACTIVE, entity.getStatus());
+    }
+
     @Test
     @DisplayName("Should return null when toEntity is called with null CustomerCreateDTO")
     void toEntity_shouldReturnNullWhenCreateDTOIsNull() {
@@ -0,0 +1,79 @@
+package com.customer.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerPatchMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CustomerPatchMapper customerPatchMapper;
+
+    @BeforeEach
+    void setUp() {
+        customerPatchMapper = new CustomerPatchMapper();
+    }
+
+    @Test
+    @DisplayName("Should return only the status column for a status-only patch")
+    void toColumns_shouldReturnOnlyStatus_whenPatchHasOnlyStatus() throws Exception {
+        // Given
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"status\":\"INACTIVE\"}");
+
+        // When
+        Map<String, Object> columns = customerPatchMapper.toColumns(patch);
+
+        // Then
+        assertEquals(Map.of("status", "INACTIVE"), columns);
+    }
+
+    @Test
+    @DisplayName("Should set the normalized email along with the email")
+    void toColumns_shouldNormalizeEmail() throws Exception {
+        // Given
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"email\":\"John.Doe@Example.com\",\"phone\":null}");
+
+        // When
+        Map<String, Object> columns = customerPatchMapper.toColumns(patch);
+
+        // Then
+        assertEquals(List.of("email", "email_normalized", "phone"), List.copyOf(columns.keySet()));
+        assertEquals("John.Doe@Example.com", columns.get("email"));
+        assertEquals("john.doe@example.com", columns.get("email_normalized"));
+        assertNull(columns.get("phone"));
+    }
+
+    @Test
+    @DisplayName("Should return no columns for an empty patch")
+    void toColumns_shouldReturnEmpty_whenPatchIsEmpty() {
+        assertTrue(customerPatchMapper.toColumns(objectMapper.createObjectNode()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a patch that clears a required field")
+    void toColumns_shouldThrow_whenRequiredFieldIsNull() throws Exception {
+        // Given
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"lastName\":null}");
+
+        // When & Then
+        assertThrows(InvalidPatchException.class, () -> customerPatchMapper.toColumns(patch));
+    }
+
+    @Test
+    @DisplayName("Should reject a patch with read-only or unknown fields and invalid values")
+    void toColumns_shouldThrow_whenPatchIsInvalid() throws Exception {
+        for (String json : List.of("{\"id\":2}", "{\"version\":7}", "{\"nickname\":\"JD\"}",
+                "{\"status\":\"DELETED\"}", "{\"firstName\":42}")) {
+            ObjectNode patch = (ObjectNode) objectMapper.readTree(json);
+            assertThrows(InvalidPatchException.class, () -> customerPatchMapper.toColumns(patch), json);
+        }
+    }
+}
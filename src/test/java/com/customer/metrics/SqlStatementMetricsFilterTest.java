@@ -0,0 +1,50 @@
+package com.customer.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsFilterTest {
+
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(sqlStatementCounter, meterRegistry);
+
+    @Test
+    @DisplayName("Should record the statements run by a request under its URI pattern")
+    void doFilter_shouldRecordStatementsPerRequest() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/1");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            sqlStatementCounter.inspect("select * from customers where id = ?");
+            sqlStatementCounter.inspect("select * from addresses where customer_id = ?");
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/customers/{id}");
+        });
+
+        // Then
+        DistributionSummary summary = meterRegistry.get("customer.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/customers/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should not count statements outside a request")
+    void inspect_shouldNotCount_whenCountingIsNotStarted() {
+        // When
+        sqlStatementCounter.inspect("select 1");
+
+        // Then
+        assertEquals(0, sqlStatementCounter.stop());
+    }
+}
@@ -3,6 +3,7 @@ package com.customer.mock;
 import com.customer.dto.CustomerCreateDTO;
 import com.customer.dto.CustomerDTO;
 import com.customer.dto.CustomerUpdateDTO;
+import com.customer.dto.CustomerView;
 import com.customer.entity.Customer;
 import com.customer.enums.CustomerStatus;
 
@@ -57,6 +58,18 @@ public class CustomerMock {
         return customerDTO;
     }
     
+    /**
+     * Creates a mock CustomerView with default values, without addresses.
+     * 
+     * @return a mock CustomerView
+     */
+    public static CustomerView createMockCustomerView() {
+        OffsetDateTime now = OffsetDateTime.now();
+        
+        return new CustomerView(1L, "John", "Doe", "john.doe@example.com", "123-456-7890",
+                now, now, CustomerStatus.ACTIVE);
+    }
+    
     /**
      * Creates a mock CustomerCreateDTO with default values.
      * 
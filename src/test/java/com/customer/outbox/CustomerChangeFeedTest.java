@@ -0,0 +1,124 @@
+package com.customer.outbox;
+
+import com.customer.dto.CustomerChangesDTO;
+import com.customer.entity.CustomerOutboxEvent;
+import com.customer.enums.CustomerEventType;
+import com.customer.mapper.CustomerOutboxEventMapper;
+import com.customer.repository.CustomerOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerChangeFeedTest {
+
+    @Mock
+    private CustomerOutboxRepository customerOutboxRepository;
+
+    private CustomerChangeFeed customerChangeFeed;
+
+    @BeforeEach
+    void setUp() {
+        customerChangeFeed = new CustomerChangeFeed(customerOutboxRepository, new CustomerOutboxEventMapper(),
+                Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should answer at once when poll finds published events")
+    void poll_shouldAnswerAtOnce_whenEventsArePublished() {
+        // Given
+        when(customerOutboxRepository.findBySeqGreaterThanOrderBySeqAsc(7L, Limit.of(100)))
+                .thenReturn(List.of(event(8L), event(9L)));
+
+        // When
+        DeferredResult<CustomerChangesDTO> result = customerChangeFeed.poll(7L, 100);
+
+        // Then
+        assertTrue(result.hasResult());
+        CustomerChangesDTO changes = (CustomerChangesDTO) result.getResult();
+        assertEquals(2, changes.getEvents().size());
+        assertEquals(9L, changes.getNextSince());
+    }
+
+    @Test
+    @DisplayName("Should reject a poll whose next events were deleted by the retention")
+    void poll_shouldThrow_whenPositionExpired() {
+        // Given
+        when(customerOutboxRepository.findBySeqGreaterThanOrderBySeqAsc(7L, Limit.of(100)))
+                .thenReturn(List.of(event(20L)));
+        when(customerOutboxRepository.findOldestRetainedSeq()).thenReturn(20L);
+
+        // When / Then
+        assertThrows(ExpiredFeedPositionException.class, () -> customerChangeFeed.poll(7L, 100));
+    }
+
+    @Test
+    @DisplayName("Should reject a poll from before the retention when every event was deleted")
+    void poll_shouldThrow_whenAllEventsDeleted() {
+        // Given
+        when(customerOutboxRepository.findBySeqGreaterThanOrderBySeqAsc(7L, Limit.of(100))).thenReturn(List.of());
+        when(customerOutboxRepository.findOldestRetainedSeq()).thenReturn(31L);
+
+        // When / Then
+        assertThrows(ExpiredFeedPositionException.class, () -> customerChangeFeed.poll(7L, 100));
+    }
+
+    @Test
+    @DisplayName("Should not look for deleted events when the events read follow on from the position")
+    void poll_shouldNotCheckRetention_whenEventsFollowOn() {
+        // Given
+        when(customerOutboxRepository.findBySeqGreaterThanOrderBySeqAsc(7L, Limit.of(100)))
+                .thenReturn(List.of(event(8L)));
+
+        // When
+        customerChangeFeed.poll(7L, 100);
+
+        // Then
+        verify(customerOutboxRepository, never()).findOldestRetainedSeq();
+    }
+
+    @Test
+    @DisplayName("Should park the poll until dispatch finds events after its position")
+    void dispatch_shouldAnswerParkedPoll_whenEventsArePublished() {
+        // Given
+        when(customerOutboxRepository.findBySeqGreaterThanOrderBySeqAsc(7L, Limit.of(1)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(event(8L)));
+        DeferredResult<CustomerChangesDTO> result = customerChangeFeed.poll(7L, 1);
+        assertFalse(result.hasResult());
+
+        // When
+        customerChangeFeed.dispatch();
+
+        // Then
+        assertTrue(result.hasResult());
+        assertEquals(8L, ((CustomerChangesDTO) result.getResult()).getNextSince());
+    }
+
+    @Test
+    @DisplayName("Should not query when dispatch has no parked polls")
+    void dispatch_shouldNotQuery_whenNoPollIsParked() {
+        // When
+        customerChangeFeed.dispatch();
+
+        // Then
+        verifyNoInteractions(customerOutboxRepository);
+    }
+
+    private static CustomerOutboxEvent event(long seq) {
+        return new CustomerOutboxEvent(seq, seq, 1L, CustomerEventType.UPDATED, "{\"id\":1}",
+                OffsetDateTime.now(), OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,104 @@
+package com.customer.outbox;
+
+import com.customer.entity.CustomerOutboxEvent;
+import com.customer.enums.CustomerEventType;
+import com.customer.mapper.CustomerOutboxEventMapper;
+import com.customer.repository.CustomerOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerOutboxRelayTest {
+
+    @Mock
+    private CustomerOutboxRepository customerOutboxRepository;
+
+    @Mock
+    private CustomerChangeFeed customerChangeFeed;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryCustomerEventSink customerEventSink = new InMemoryCustomerEventSink();
+
+    private CustomerOutboxRelay customerOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        customerOutboxRelay = new CustomerOutboxRelay(customerOutboxRepository, new CustomerOutboxEventMapper(),
+                customerEventSink, customerChangeFeed, new TransactionTemplate(transactionManager),
+                2, Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("Should publish pending events in seq order until a batch is not full")
+    void relay_shouldPublishBatchesInSeqOrder() {
+        // Given
+        when(customerOutboxRepository.tryLock(CustomerOutboxRepository.RELAY_LOCK_KEY)).thenReturn(true);
+        when(customerOutboxRepository.publishPending(2))
+                .thenReturn(List.of(event(2L), event(1L)))
+                .thenReturn(List.of(event(3L)));
+
+        // When
+        customerOutboxRelay.relay();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), customerEventSink.getEvents().stream()
+                .map(event -> event.getSeq())
+                .toList());
+        verify(customerOutboxRepository, times(2)).publishPending(2);
+        verify(customerChangeFeed).dispatch();
+    }
+
+    @Test
+    @DisplayName("Should not publish but still answer polls when another instance holds the lock")
+    void relay_shouldSkipPublishing_whenLockIsHeld() {
+        // Given
+        when(customerOutboxRepository.tryLock(CustomerOutboxRepository.RELAY_LOCK_KEY)).thenReturn(false);
+
+        // When
+        customerOutboxRelay.relay();
+
+        // Then
+        verify(customerOutboxRepository, never()).publishPending(anyInt());
+        assertTrue(customerEventSink.getEvents().isEmpty());
+        verify(customerChangeFeed).dispatch();
+    }
+
+    @Test
+    @DisplayName("Should roll back the batch when the sink fails")
+    void relay_shouldRollBack_whenSinkFails() {
+        // Given
+        CustomerEventSink failingSink = events -> {
+            throw new IllegalStateException("Broker unavailable");
+        };
+        CustomerOutboxRelay relay = new CustomerOutboxRelay(customerOutboxRepository, new CustomerOutboxEventMapper(),
+                failingSink, customerChangeFeed, new TransactionTemplate(transactionManager), 2, Duration.ofDays(7));
+        when(customerOutboxRepository.tryLock(CustomerOutboxRepository.RELAY_LOCK_KEY)).thenReturn(true);
+        when(customerOutboxRepository.publishPending(2)).thenReturn(List.of(event(1L)));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, relay::relay);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private static CustomerOutboxEvent event(long seq) {
+        return new CustomerOutboxEvent(seq, seq, 1L, CustomerEventType.CREATED, "{\"id\":1}",
+                OffsetDateTime.now(), OffsetDateTime.now());
+    }
+}
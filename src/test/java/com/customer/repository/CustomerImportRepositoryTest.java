@@ -0,0 +1,129 @@
+package com.customer.repository;
+
+import com.customer.entity.CustomerImportJob;
+import com.customer.entity.CustomerImportReject;
+import com.customer.enums.ImportJobStatus;
+import com.customer.enums.ImportRejectReason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the COPY and the merge of an import against PostgreSQL, in the transaction of the test.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(CustomerImportRepository.class)
+class CustomerImportRepositoryTest {
+
+    private static final String CSV = """
+            firstName,lastName,email,phone,status
+            John,Doe,john.doe@example.com,,
+            Jane,Doe,jane.doe@example.com,(555) 0100,INACTIVE
+            ,Doe,nobody@example.com,,
+            Jake,Doe,not-an-email,,
+            Jill,Doe,jill.doe@example.com,,RETIRED
+            Johnny,Doe,JOHN.DOE@example.com,,
+            Taken,Doe,taken@example.com,,
+            """;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.2");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CustomerImportRepository customerImportRepository;
+
+    @Autowired
+    private CustomerImportJobRepository customerImportJobRepository;
+
+    @Autowired
+    private CustomerImportRejectRepository customerImportRejectRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Long jobId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO customers (first_name, last_name, email, email_normalized)
+                VALUES ('Taken', 'Before', 'Taken@example.com', 'taken@example.com')
+                """);
+        CustomerImportJob job = new CustomerImportJob();
+        job.setFileName("partners.csv");
+        job.setStatus(ImportJobStatus.COPYING);
+        job.setBytesTotal(CSV.length());
+        jobId = customerImportJobRepository.saveAndFlush(job).getId();
+    }
+
+    @Test
+    @DisplayName("Should import valid rows and reject the others by line of the file")
+    void importFile_shouldImportValidRowsAndRejectOthers() {
+        // When
+        customerImportRepository.createStagingTable();
+        long rowsRead = customerImportRepository.copyIntoStaging(
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+        int rejected = customerImportRepository.rejectInvalidRows(jobId)
+                + customerImportRepository.mergeIntoCustomers(jobId);
+
+        // Then
+        assertEquals(7L, rowsRead);
+        assertEquals(5, rejected);
+        Map<Long, ImportRejectReason> rejects = customerImportRejectRepository
+                .findByJobIdAndLineNumberGreaterThanOrderByLineNumberAsc(jobId, 0L, Limit.of(100)).stream()
+                .collect(Collectors.toMap(CustomerImportReject::getLineNumber, CustomerImportReject::getReason));
+        assertEquals(Map.of(
+                4L, ImportRejectReason.INVALID_FIRST_NAME,
+                5L, ImportRejectReason.INVALID_EMAIL,
+                6L, ImportRejectReason.INVALID_STATUS,
+                7L, ImportRejectReason.DUPLICATE_IN_FILE,
+                8L, ImportRejectReason.EMAIL_TAKEN), rejects);
+
+        List<Map<String, Object>> imported = jdbcTemplate.queryForList("""
+                SELECT email, email_normalized, phone, status FROM customers
+                WHERE email IN ('john.doe@example.com', 'jane.doe@example.com') ORDER BY email
+                """);
+        assertEquals(2, imported.size());
+        assertEquals("INACTIVE", imported.get(0).get("status"));
+        assertEquals("(555) 0100", imported.get(0).get("phone"));
+        assertEquals("ACTIVE", imported.get(1).get("status"));
+        assertNull(imported.get(1).get("phone"));
+
+        List<Long> ids = jdbcTemplate.queryForList("""
+                SELECT id FROM customers
+                WHERE email IN ('john.doe@example.com', 'jane.doe@example.com') ORDER BY id
+                """, Long.class);
+        assertTrue(ids.get(0) > 0);
+        assertEquals(ids.get(0) + 1, ids.get(1));
+
+        assertEquals(2, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM customer_outbox
+                WHERE event_type = 'CREATED' AND payload ->> 'email' IN ('john.doe@example.com', 'jane.doe@example.com')
+                """, Integer.class));
+    }
+}
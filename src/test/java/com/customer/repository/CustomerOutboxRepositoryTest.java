@@ -0,0 +1,79 @@
+package com.customer.repository;
+
+import com.customer.entity.CustomerOutboxEvent;
+import com.customer.enums.CustomerEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the publication of outbox events against PostgreSQL, in the transaction of the test.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class CustomerOutboxRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.2");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CustomerOutboxRepository customerOutboxRepository;
+
+    @Test
+    @DisplayName("Should publish the events of a customer in the order they were written, across instances")
+    void publishPending_shouldKeepWriteOrder_whenInstancesInterleave() {
+        // Given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        CustomerOutboxEvent first = customerOutboxRepository.saveAndFlush(event("first"));
+        // Another instance writes the next change of the customer, taking its id from the sequence,
+        // as it would from a block of its own
+        jdbcTemplate.update("""
+                INSERT INTO customer_outbox (customer_id, event_type, payload)
+                VALUES (1, 'UPDATED', '{"firstName": "second"}')
+                """);
+        CustomerOutboxEvent third = customerOutboxRepository.saveAndFlush(event("third"));
+        entityManager.clear();
+
+        // When
+        List<CustomerOutboxEvent> published = customerOutboxRepository.publishPending(10).stream()
+                .sorted(Comparator.comparing(CustomerOutboxEvent::getSeq))
+                .toList();
+
+        // Then
+        assertEquals(3, published.size());
+        assertEquals(first.getId(), published.get(0).getId());
+        assertTrue(published.get(1).getPayload().contains("second"));
+        assertEquals(third.getId(), published.get(2).getId());
+        assertEquals(first.getId() + 2, third.getId());
+    }
+
+    private static CustomerOutboxEvent event(String firstName) {
+        CustomerOutboxEvent event = new CustomerOutboxEvent();
+        event.setCustomerId(1L);
+        event.setEventType(CustomerEventType.UPDATED);
+        event.setPayload("{\"firstName\": \"" + firstName + "\"}");
+        return event;
+    }
+}
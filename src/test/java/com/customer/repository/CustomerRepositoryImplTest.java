@@ -0,0 +1,95 @@
+package com.customer.repository;
+
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.enums.CustomerStatus;
+import com.customer.enums.ExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerRepositoryImplTest {
+
+    @Test
+    @DisplayName("Should list only the patched columns in the UPDATE statement")
+    void buildPatchSql_shouldSetOnlyGivenColumns() {
+        // When
+        String sql = CustomerRepositoryImpl.buildPatchSql(List.of("status"));
+
+        // Then
+        assertEquals("UPDATE customers SET status = :value0, version = version + 1, updated_at = now(), "
+                + "change_xid = pg_current_xact_id() "
+                + "WHERE id = :id AND (:expectedVersion = -1 OR version = :expectedVersion) RETURNING *", sql);
+        assertFalse(sql.contains("first_name"));
+        assertFalse(sql.contains("email"));
+    }
+
+    @Test
+    @DisplayName("Should reject columns that cannot be patched")
+    void buildPatchSql_shouldThrow_whenColumnIsNotPatchable() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CustomerRepositoryImpl.buildPatchSql(List.of("status", "created_at")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CustomerRepositoryImpl.buildPatchSql(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should copy every customer as CSV with a header when no filter is set")
+    void buildCopySql_shouldCopyAllCustomers_whenFilterIsEmpty() {
+        // When
+        String sql = CustomerRepositoryImpl.buildCopySql(new CustomerFilterDTO(), ExportFormat.CSV);
+
+        // Then
+        assertEquals("COPY (SELECT id, first_name, last_name, email, phone, created_at, updated_at, status "
+                + "FROM customers ORDER BY id) TO STDOUT WITH (FORMAT csv, HEADER true)", sql);
+    }
+
+    @Test
+    @DisplayName("Should write the filters into the COPY statement as UTC instants")
+    void buildCopySql_shouldWriteFilters() {
+        // Given
+        CustomerFilterDTO filter = new CustomerFilterDTO(CustomerStatus.SUSPENDED,
+                OffsetDateTime.parse("2024-01-01T00:00:00-03:00"), OffsetDateTime.parse("2024-02-01T00:00:00Z"));
+
+        // When
+        String sql = CustomerRepositoryImpl.buildCopySql(filter, ExportFormat.BINARY);
+
+        // Then
+        assertEquals("COPY (SELECT id, first_name, last_name, email, phone, created_at, updated_at, status "
+                + "FROM customers WHERE status = 'SUSPENDED' AND created_at >= '2024-01-01T03:00:00Z' "
+                + "AND created_at < '2024-02-01T00:00:00Z' ORDER BY id) TO STDOUT WITH (FORMAT binary)", sql);
+    }
+
+    @Test
+    @DisplayName("Should check the filters both when choosing the chunk and when updating it")
+    void buildStatusTransitionSql_shouldRepeatFilters() {
+        // Given
+        CustomerFilterDTO filter = new CustomerFilterDTO(CustomerStatus.ACTIVE, null,
+                OffsetDateTime.parse("2024-01-01T00:00:00Z"));
+
+        // When
+        String sql = CustomerRepositoryImpl.buildStatusTransitionSql(filter, false);
+
+        // Then
+        String matching = "status <> :status AND status = :currentStatus AND created_at < :createdTo";
+        assertTrue(sql.contains("WHERE id > :afterId AND " + matching + "\n"));
+        assertTrue(sql.contains("WHERE id IN (SELECT id FROM chunk) AND " + matching + "\n"));
+        assertTrue(sql.contains("'UPDATED'"));
+        assertFalse(sql.contains(":ids"));
+        assertFalse(sql.contains(":createdFrom"));
+    }
+
+    @Test
+    @DisplayName("Should restrict the transition to the given IDs")
+    void buildStatusTransitionSql_shouldMatchIds() {
+        // When
+        String sql = CustomerRepositoryImpl.buildStatusTransitionSql(new CustomerFilterDTO(), true);
+
+        // Then
+        assertTrue(sql.contains("WHERE id > :afterId AND status <> :status AND id = ANY(:ids)\n"));
+        assertFalse(sql.contains(":currentStatus"));
+    }
+}
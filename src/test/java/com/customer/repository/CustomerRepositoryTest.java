@@ -1,19 +1,25 @@
 package com.customer.repository;
 
+import com.customer.dto.CustomerView;
+import com.customer.entity.Address;
 import com.customer.entity.Customer;
 import com.customer.enums.CustomerStatus;
 import com.customer.mock.CustomerMock;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class CustomerRepositoryTest {
 
     @Autowired
@@ -22,6 +28,9 @@ class CustomerRepositoryTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private AddressRepository addressRepository;
+
     @Test
     @DisplayName("Should return customer when findByEmail is called with existing email")
     void findByEmail_shouldReturnCustomer_whenEmailExists() {
@@ -45,6 +54,26 @@ class CustomerRepositoryTest {
         assertEquals(CustomerStatus.ACTIVE, found.get().getStatus());
     }
 
+    @Test
+    @DisplayName("Should return customer when findByEmail is called with email in another case")
+    void findByEmail_shouldIgnoreCase() {
+        // Given
+        Customer customer = CustomerMock.createMockCustomer();
+        customer.setId(null);
+        customer.setEmail("John.Doe@Example.com");
+
+        entityManager.persist(customer);
+        entityManager.flush();
+
+        // When
+        Optional<Customer> found = customerRepository.findByEmail("JOHN.DOE@example.COM");
+
+        // Then
+        assertTrue(found.isPresent());
+        assertEquals("John.Doe@Example.com", found.get().getEmail());
+        assertEquals("john.doe@example.com", found.get().getEmailNormalized());
+    }
+
     @Test
     @DisplayName("Should return empty when findByEmail is called with non-existing email")
     void findByEmail_shouldReturnEmpty_whenEmailDoesNotExist() {
@@ -56,32 +85,32 @@ class CustomerRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should return true when existsByEmail is called with existing email")
-    void existsByEmail_shouldReturnTrue_whenEmailExists() {
+    @DisplayName("Should load a page of 500 customer views and their addresses in two statements")
+    void findViewsAfterId_shouldLoadPageAndAddressesInTwoStatements() {
         // Given
-        Customer customer = CustomerMock.createMockCustomer();
-        // Use a different email to avoid conflicts with other tests
-        customer.setEmail("jane.smith@example.com");
-        // Remove ID to let the database generate it
-        customer.setId(null);
-        
-        entityManager.persist(customer);
+        for (int i = 0; i < 500; i++) {
+            Customer customer = CustomerMock.createMockCustomer();
+            customer.setId(null);
+            customer.setEmail("customer" + i + "@example.com");
+            entityManager.persist(customer);
+            entityManager.persist(new Address(null, customer, "HOME", i + " Main St", "Springfield", null, "12345", "US"));
+            entityManager.persist(new Address(null, customer, "WORK", i + " Market St", "Springfield", null, "12345", "US"));
+        }
         entityManager.flush();
+        entityManager.clear();
 
-        // When
-        boolean exists = customerRepository.existsByEmail("jane.smith@example.com");
-
-        // Then
-        assertTrue(exists);
-    }
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
 
-    @Test
-    @DisplayName("Should return false when existsByEmail is called with non-existing email")
-    void existsByEmail_shouldReturnFalse_whenEmailDoesNotExist() {
         // When
-        boolean exists = customerRepository.existsByEmail("nonexistent@example.com");
+        List<CustomerView> page = customerRepository.findViewsAfterId(0L, Limit.of(500));
+        List<Address> addresses = addressRepository.findByCustomerIdInOrderByIdAsc(
+                page.stream().map(CustomerView::id).toList());
 
         // Then
-        assertFalse(exists);
+        assertEquals(500, page.size());
+        assertEquals(1000, addresses.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
     }
-}
\ No newline at end of file
+}
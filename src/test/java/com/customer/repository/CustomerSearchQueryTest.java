@@ -0,0 +1,103 @@
+package com.customer.repository;
+
+import com.customer.entity.Customer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the customer search against a seeded PostgreSQL, where the trigram indexes exist.
+ * The customers are seeded once for the class, outside the rolled back test transactions,
+ * and shared by all tests, which only read them.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerSearchQueryTest {
+
+    private static final int SEEDED_CUSTOMERS = 200_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.2");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedCustomers() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcTemplate().update("""
+                INSERT INTO customers (first_name, last_name, email, phone)
+                SELECT 'First' || i, 'Last' || i, 'customer' || i || '@example.com',
+                       '(555) ' || lpad(i::text, 7, '0')
+                FROM generate_series(1, ?) AS i
+                """, SEEDED_CUSTOMERS);
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE customers");
+    }
+
+    @Test
+    @DisplayName("Should rank the closest match first when searching by name")
+    void searchCustomers_shouldRankClosestMatchFirst() {
+        // When
+        List<Customer> customers = customerRepository.searchCustomers("First12345", "%First12345%", "12345", 10);
+
+        // Then
+        assertFalse(customers.isEmpty());
+        assertEquals("First12345", customers.get(0).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should match phones by their digits only")
+    void searchCustomers_shouldMatchPhoneDigits() {
+        // When
+        List<Customer> customers = customerRepository.searchCustomers("555-0123456", "%555-0123456%", "5550123456", 10);
+
+        // Then
+        assertEquals(1, customers.size());
+        assertEquals("(555) 0123456", customers.get(0).getPhone());
+    }
+
+    @Test
+    @DisplayName("Should use the trigram indexes instead of scanning the table")
+    void searchCustomers_shouldUseTrigramIndexes() {
+        // Given
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", "customer12345")
+                .addValue("pattern", "%customer12345%")
+                .addValue("digits", "12345")
+                .addValue("limit", 20);
+
+        // When
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN " + CustomerRepository.SEARCH_CUSTOMERS_QUERY, parameters, String.class));
+
+        // Then
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(plan.contains("idx_customers_first_name_trgm"), plan);
+        assertTrue(plan.contains("idx_customers_last_name_trgm"), plan);
+        assertTrue(plan.contains("idx_customers_email_trgm"), plan);
+        assertTrue(plan.contains("idx_customers_phone_digits_trgm"), plan);
+    }
+}
@@ -0,0 +1,116 @@
+package com.customer.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingJwtAuthenticationManagerTest {
+
+    private AuthenticationManager delegate;
+    private CachingJwtAuthenticationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AuthenticationManager.class);
+        manager = new CachingJwtAuthenticationManager(delegate, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should validate a token once and serve later requests with it from the cache")
+    void authenticate_shouldValidateOnce() {
+        // Given
+        when(delegate.authenticate(any())).thenReturn(authentication(Instant.now().plusSeconds(300)));
+
+        // When
+        Authentication first = manager.authenticate(new BearerTokenAuthenticationToken("token"));
+        Authentication second = manager.authenticate(new BearerTokenAuthenticationToken("token"));
+
+        // Then
+        verify(delegate, times(1)).authenticate(any());
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should carry the details of the current request on a cached authentication")
+    void authenticate_shouldKeepRequestDetails() {
+        // Given
+        when(delegate.authenticate(any())).thenReturn(authentication(Instant.now().plusSeconds(300)));
+        manager.authenticate(new BearerTokenAuthenticationToken("token"));
+        BearerTokenAuthenticationToken request = new BearerTokenAuthenticationToken("token");
+        request.setDetails("second request");
+
+        // When
+        Authentication result = manager.authenticate(request);
+
+        // Then
+        assertEquals("second request", result.getDetails());
+    }
+
+    @Test
+    @DisplayName("Should validate other tokens separately")
+    void authenticate_shouldNotShareOtherTokens() {
+        // Given
+        when(delegate.authenticate(any())).thenReturn(authentication(Instant.now().plusSeconds(300)));
+
+        // When
+        manager.authenticate(new BearerTokenAuthenticationToken("token"));
+        manager.authenticate(new BearerTokenAuthenticationToken("other-token"));
+
+        // Then
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should not cache a token that has already expired")
+    void authenticate_shouldNotCacheExpiredToken() {
+        // Given
+        when(delegate.authenticate(any())).thenReturn(authentication(Instant.now().minusSeconds(1)));
+
+        // When
+        manager.authenticate(new BearerTokenAuthenticationToken("token"));
+        manager.authenticate(new BearerTokenAuthenticationToken("token"));
+
+        // Then
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should not cache a token that fails validation")
+    void authenticate_shouldNotCacheInvalidToken() {
+        // Given
+        when(delegate.authenticate(any())).thenThrow(new InvalidBearerTokenException("Invalid token"));
+
+        // When / Then
+        assertThrows(InvalidBearerTokenException.class,
+                () -> manager.authenticate(new BearerTokenAuthenticationToken("token")));
+        assertThrows(InvalidBearerTokenException.class,
+                () -> manager.authenticate(new BearerTokenAuthenticationToken("token")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private JwtAuthenticationToken authentication(Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("ROLE_USER"), "user");
+    }
+}
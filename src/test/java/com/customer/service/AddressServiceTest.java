@@ -0,0 +1,142 @@
+package com.customer.service;
+
+import com.customer.dto.AddressCreateDTO;
+import com.customer.dto.AddressDTO;
+import com.customer.dto.AddressUpdateDTO;
+import com.customer.entity.Address;
+import com.customer.entity.Customer;
+import com.customer.mapper.AddressMapper;
+import com.customer.mock.CustomerMock;
+import com.customer.repository.AddressRepository;
+import com.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AddressServiceTest {
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Spy
+    private AddressMapper addressMapper = new AddressMapper();
+
+    @InjectMocks
+    private AddressService addressService;
+
+    private static Address createAddress(Customer customer) {
+        return new Address(7L, customer, "HOME", "1 Main St", "Springfield", "IL", "12345", "US");
+    }
+
+    @Test
+    @DisplayName("Should return addresses without looking up the customer when it has addresses")
+    void getAddresses_shouldReturnAddresses_whenCustomerHasAddresses() {
+        // Given
+        Address address = createAddress(CustomerMock.createMockCustomer());
+        when(addressRepository.findByCustomerIdOrderByIdAsc(1L)).thenReturn(List.of(address));
+
+        // When
+        Optional<List<AddressDTO>> result = addressService.getAddresses(1L);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(1, result.get().size());
+        assertEquals(7L, result.get().get(0).getId());
+        verify(customerRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should return empty when getAddresses is called for non-existing customer")
+    void getAddresses_shouldReturnEmpty_whenCustomerDoesNotExist() {
+        // Given
+        when(addressRepository.findByCustomerIdOrderByIdAsc(99L)).thenReturn(Collections.emptyList());
+        when(customerRepository.existsById(99L)).thenReturn(false);
+
+        // When
+        Optional<List<AddressDTO>> result = addressService.getAddresses(99L);
+
+        // Then
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    @DisplayName("Should save address for the customer when createAddress is called")
+    void createAddress_shouldSaveAddressForCustomer() {
+        // Given
+        Customer customer = CustomerMock.createMockCustomer();
+        AddressCreateDTO addressCreateDTO = new AddressCreateDTO("HOME", "1 Main St", "Springfield", "IL", "12345", "US");
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerRepository.getReferenceById(1L)).thenReturn(customer);
+        when(addressRepository.save(any(Address.class))).thenAnswer(invocation -> {
+            Address address = invocation.getArgument(0);
+            address.setId(7L);
+            return address;
+        });
+
+        // When
+        Optional<AddressDTO> result = addressService.createAddress(1L, addressCreateDTO);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(7L, result.get().getId());
+        assertEquals("1 Main St", result.get().getStreet());
+        verify(addressRepository).save(argThat(address -> address.getCustomer() == customer));
+    }
+
+    @Test
+    @DisplayName("Should return empty when createAddress is called for non-existing customer")
+    void createAddress_shouldReturnEmpty_whenCustomerDoesNotExist() {
+        // Given
+        when(customerRepository.existsById(99L)).thenReturn(false);
+
+        // When
+        Optional<AddressDTO> result = addressService.createAddress(99L, new AddressCreateDTO());
+
+        // Then
+        assertFalse(result.isPresent());
+        verify(addressRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should update address when updateAddress is called with existing address")
+    void updateAddress_shouldUpdateAddress_whenAddressExists() {
+        // Given
+        Address address = createAddress(CustomerMock.createMockCustomer());
+        AddressUpdateDTO addressUpdateDTO = new AddressUpdateDTO("WORK", "2 Market St", "Shelbyville", null, "54321", "US");
+        when(addressRepository.findByIdAndCustomerId(7L, 1L)).thenReturn(Optional.of(address));
+
+        // When
+        Optional<AddressDTO> result = addressService.updateAddress(1L, 7L, addressUpdateDTO);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("WORK", result.get().getAddressType());
+        assertEquals("2 Market St", address.getStreet());
+    }
+
+    @Test
+    @DisplayName("Should return false when deleteAddress is called with non-existing address")
+    void deleteAddress_shouldReturnFalse_whenAddressDoesNotExist() {
+        // Given
+        when(addressRepository.deleteAddress(7L, 1L)).thenReturn(0);
+
+        // When & Then
+        assertFalse(addressService.deleteAddress(1L, 7L));
+    }
+}
@@ -0,0 +1,136 @@
+package com.customer.service;
+
+import com.customer.dto.CustomerImportJobDTO;
+import com.customer.entity.CustomerImportJob;
+import com.customer.enums.ImportJobStatus;
+import com.customer.mapper.CustomerImportMapper;
+import com.customer.repository.CustomerImportJobRepository;
+import com.customer.repository.CustomerImportRejectRepository;
+import com.customer.repository.CustomerImportRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerImportServiceTest {
+
+    private static final String CSV = """
+            firstName,lastName,email,phone,status
+            John,Doe,john.doe@example.com,,
+            Jane,Doe,jane.doe@example.com,(555) 0100,INACTIVE
+            ,Doe,nobody@example.com,,
+            """;
+
+    @Mock
+    private CustomerImportJobRepository customerImportJobRepository;
+
+    @Mock
+    private CustomerImportRejectRepository customerImportRejectRepository;
+
+    @Mock
+    private CustomerImportRepository customerImportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should save the file, create a pending job and import the file in the background")
+    void startImport_shouldCreateJobAndImportFile() throws Exception {
+        // Given
+        CustomerImportService service = service(Runnable::run);
+        MockMultipartFile file = new MockMultipartFile("file", "partners.csv", "text/csv",
+                CSV.getBytes(StandardCharsets.UTF_8));
+        when(customerImportJobRepository.save(any(CustomerImportJob.class))).thenAnswer(invocation -> {
+            CustomerImportJob job = invocation.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+        when(customerImportRepository.copyIntoStaging(any(InputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, InputStream.class).readAllBytes();
+            return 3L;
+        });
+        when(customerImportRepository.rejectInvalidRows(1L)).thenReturn(1);
+        when(customerImportRepository.mergeIntoCustomers(1L)).thenReturn(0);
+
+        // When
+        CustomerImportJobDTO job = service.startImport(file);
+
+        // Then
+        assertEquals(1L, job.getId());
+        assertEquals("partners.csv", job.getFileName());
+        assertEquals(ImportJobStatus.PENDING, job.getStatus());
+        assertEquals(CSV.length(), job.getBytesTotal());
+        verify(customerImportRepository).createStagingTable();
+        verify(customerImportJobRepository).updateStatus(1L, ImportJobStatus.COPYING);
+        verify(customerImportJobRepository).updateStatus(1L, ImportJobStatus.MERGING);
+        verify(customerImportJobRepository).markCompleted(eq(1L), eq((long) CSV.length()), eq(3L), eq(2L), eq(1L), any());
+        verify(customerImportJobRepository, never()).markFailed(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail the job with the database error and delete the file when the copy fails")
+    void runImport_shouldMarkFailed_whenCopyFails() throws Exception {
+        // Given
+        CustomerImportService service = service(Runnable::run);
+        Path path = Files.writeString(tempDir.resolve("import.csv"), CSV);
+        when(customerImportRepository.copyIntoStaging(any(InputStream.class)))
+                .thenThrow(new IllegalStateException("extra data after last expected column"));
+
+        // When
+        service.runImport(1L, path);
+
+        // Then
+        verify(customerImportJobRepository).markFailed(eq(1L), eq("extra data after last expected column"), any());
+        verify(customerImportJobRepository, never())
+                .markCompleted(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+        verify(customerImportRepository, never()).mergeIntoCustomers(anyLong());
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    @DisplayName("Should fail the job and rethrow when too many imports are waiting")
+    void startImport_shouldMarkFailed_whenExecutorRejects() {
+        // Given
+        CustomerImportService service = service(command -> {
+            throw new RejectedExecutionException();
+        });
+        MockMultipartFile file = new MockMultipartFile("file", "partners.csv", "text/csv",
+                CSV.getBytes(StandardCharsets.UTF_8));
+        when(customerImportJobRepository.save(any(CustomerImportJob.class))).thenAnswer(invocation -> {
+            CustomerImportJob job = invocation.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+
+        // When & Then
+        assertThrows(RejectedExecutionException.class, () -> service.startImport(file));
+        verify(customerImportJobRepository).markFailed(eq(1L), any(), any());
+        verifyNoInteractions(customerImportRepository);
+    }
+
+    private CustomerImportService service(Executor executor) {
+        return new CustomerImportService(customerImportJobRepository, customerImportRejectRepository,
+                customerImportRepository, new CustomerImportMapper(), transactionManager, executor);
+    }
+}
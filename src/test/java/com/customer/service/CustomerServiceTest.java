@@ -1,25 +1,67 @@
 package com.customer.service;
 
+import com.customer.cache.CustomerCache;
+import com.customer.dto.CustomerBatchResultDTO;
 import com.customer.dto.CustomerCreateDTO;
 import com.customer.dto.CustomerDTO;
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerLookupResultDTO;
+import com.customer.dto.CustomerPageDTO;
+import com.customer.dto.CustomerSyncPageDTO;
 import com.customer.dto.CustomerUpdateDTO;
+import com.customer.dto.CustomerView;
+import com.customer.entity.Address;
 import com.customer.entity.Customer;
+import com.customer.entity.CustomerTombstone;
+import com.customer.enums.BatchItemStatus;
+import com.customer.enums.CustomerSort;
+import com.customer.enums.CustomerStatus;
+import com.customer.mapper.AddressMapper;
+import com.customer.mapper.CustomerJsonSerializer;
 import com.customer.mapper.CustomerMapper;
+import com.customer.mapper.CustomerPatchMapper;
 import com.customer.mock.CustomerMock;
+import com.customer.outbox.CustomerOutbox;
+import com.customer.repository.AddressRepository;
 import com.customer.repository.CustomerRepository;
+import com.customer.repository.CustomerRepositoryCustom.CustomerChange;
+import com.customer.repository.CustomerSpecifications;
+import com.customer.repository.CustomerTombstoneRepository;
+import com.customer.repository.CustomerTombstoneRepository.TombstoneChange;
+import com.customer.util.CursorCodec;
+import com.customer.util.CursorCodec.ChangePosition;
+import com.customer.util.CursorCodec.Position;
+import com.customer.util.CursorCodec.SnapshotSyncPass;
+import com.customer.util.CursorCodec.TimeSyncPass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,34 +70,175 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerTombstoneRepository customerTombstoneRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
     @Mock
     private CustomerMapper customerMapper;
 
+    @Spy
+    private AddressMapper addressMapper = new AddressMapper();
+
+    @Spy
+    private CustomerPatchMapper customerPatchMapper = new CustomerPatchMapper();
+
+    @Spy
+    private CustomerJsonSerializer customerJsonSerializer = new CustomerJsonSerializer();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CustomerOutbox customerOutbox;
+
+    @Spy
+    private CustomerCache customerCache = new CustomerCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private CustomerService customerService;
 
+
     @Test
-    @DisplayName("Should return all customers when getAllCustomers is called")
-    void getAllCustomers_shouldReturnAllCustomers() {
+    @DisplayName("Should return page without next cursor when getCustomerPage reaches the end")
+    void getCustomerPage_shouldReturnPageWithoutCursor_whenNoMoreCustomers() {
+        // Given
+        CustomerView customer = CustomerMock.createMockCustomerView();
+        List<CustomerView> customers = Arrays.asList(customer, customer);
+
+        when(customerRepository.findViewsAfterId(0L, Limit.of(3))).thenReturn(customers);
+
+        // When
+        CustomerPageDTO result = customerService.getCustomerPage(new CustomerFilterDTO(), CustomerSort.ID, null, 2, false);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(customers, result.getContent());
+        assertNull(result.getNextCursor());
+
+        verify(customerRepository).findViewsAfterId(0L, Limit.of(3));
+        verify(addressRepository, never()).findByCustomerIdInOrderByIdAsc(any());
+        verify(customerMapper, never()).toDTOList(any());
+    }
+
+    @Test
+    @DisplayName("Should return page with next cursor when getCustomerPage finds more customers")
+    void getCustomerPage_shouldReturnNextCursor_whenMoreCustomersExist() {
+        // Given
+        List<CustomerView> customers = createViews(3);
+
+        when(customerRepository.findViewsAfterId(10L, Limit.of(3))).thenReturn(customers);
+
+        // When
+        CustomerPageDTO result = customerService.getCustomerPage(new CustomerFilterDTO(), CustomerSort.ID, new Position(null, 10L), 2, false);
+
+        // Then
+        assertEquals(customers.subList(0, 2), result.getContent());
+        assertEquals(CursorCodec.encodeId(12L), result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should query by specification and return creation time cursor when getCustomerPage filters")
+    void getCustomerPage_shouldUseSpecificationAndCreatedAtCursor_whenFiltered() {
+        // Given
+        List<CustomerView> customers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OffsetDateTime createdAt = OffsetDateTime.parse("2024-06-0" + (3 - i) + "T00:00:00Z");
+            customers.add(new CustomerView(11L + i, "John", "Doe", "john" + i + "@example.com", null,
+                    createdAt, createdAt, CustomerStatus.SUSPENDED));
+        }
+        CustomerFilterDTO filter = new CustomerFilterDTO(CustomerStatus.SUSPENDED, null, null);
+
+        when(customerRepository.findViews(any(), eq(CustomerSpecifications.orderBy(CustomerSort.CREATED_AT_DESC)), eq(3)))
+                .thenReturn(customers);
+
+        // When
+        CustomerPageDTO result = customerService.getCustomerPage(filter, CustomerSort.CREATED_AT_DESC, null, 2, false);
+
+        // Then
+        assertEquals(customers.subList(0, 2), result.getContent());
+        assertEquals(CursorCodec.encodeCreatedAt(OffsetDateTime.parse("2024-06-02T00:00:00Z"), 12L),
+                result.getNextCursor());
+        verify(customerRepository, never()).findViewsAfterId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should load addresses of the page with one query when getCustomerPage includes addresses")
+    void getCustomerPage_shouldFetchAddressesOfPage_whenIncludeAddresses() {
+        // Given
+        List<CustomerView> customers = createViews(3);
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Customer customer = CustomerMock.createMockCustomer();
+            customer.setId(11L + i);
+            addresses.add(new Address(20L + i, customer, "HOME", "1 Main St", "Springfield", null, "12345", "US"));
+        }
+
+        when(customerRepository.findViewsAfterId(10L, Limit.of(3))).thenReturn(customers);
+        when(addressRepository.findByCustomerIdInOrderByIdAsc(List.of(11L, 12L))).thenReturn(addresses);
+
+        // When
+        CustomerPageDTO result = customerService.getCustomerPage(new CustomerFilterDTO(), CustomerSort.ID, new Position(null, 10L), 2, true);
+
+        // Then
+        assertEquals(2, result.getContent().size());
+        assertEquals(20L, result.getContent().get(0).addresses().get(0).getId());
+        assertEquals(21L, result.getContent().get(1).addresses().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards and match phone digits when searchCustomers is called")
+    void searchCustomers_shouldEscapePatternAndExtractDigits() {
         // Given
         Customer customer = CustomerMock.createMockCustomer();
         CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
-        List<Customer> customers = Arrays.asList(customer, customer);
-        List<CustomerDTO> expectedDTOs = Arrays.asList(customerDTO, customerDTO);
-        
-        when(customerRepository.findAll()).thenReturn(customers);
-        when(customerMapper.toDTOList(customers)).thenReturn(expectedDTOs);
+        when(customerRepository.searchCustomers("50%_off (123)", "%50\\%\\_off (123)%", "50123", 20))
+                .thenReturn(List.of(customer));
+        when(customerMapper.toDTOList(List.of(customer))).thenReturn(List.of(customerDTO));
 
         // When
-        List<CustomerDTO> result = customerService.getAllCustomers();
+        List<CustomerDTO> result = customerService.searchCustomers("50%_off (123)", 20);
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDTOs, result);
-        
-        verify(customerRepository).findAll();
-        verify(customerMapper).toDTOList(customers);
+        assertEquals(List.of(customerDTO), result);
+    }
+
+    @Test
+    @DisplayName("Should skip phones when searchCustomers is called with fewer than three digits")
+    void searchCustomers_shouldSkipPhones_whenTooFewDigits() {
+        // Given
+        when(customerRepository.searchCustomers("jo1", "%jo1%", "", 20)).thenReturn(List.of());
+
+        // When
+        customerService.searchCustomers("jo1", 20);
+
+        // Then
+        verify(customerRepository).searchCustomers("jo1", "%jo1%", "", 20);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per customer when exportCustomers is called")
+    void exportCustomers_shouldWriteOneLinePerCustomer() throws Exception {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        when(customerRepository.streamAllOrderById()).thenReturn(createViews(2).stream());
+
+        // When
+        customerService.exportCustomers(outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(11L, objectMapper.readValue(lines[0], CustomerDTO.class).getId());
+        assertEquals(12L, objectMapper.readValue(lines[1], CustomerDTO.class).getId());
+
+        verify(customerMapper, never()).toDTO(any());
     }
 
     @Test
@@ -79,6 +262,25 @@ class CustomerServiceTest {
         verify(customerMapper).toDTO(customer);
     }
 
+    @Test
+    @DisplayName("Should serve repeated getCustomerById calls from the cache")
+    void getCustomerById_shouldUseCache_whenCalledTwice() {
+        // Given
+        Customer customer = CustomerMock.createMockCustomer();
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerMapper.toDTO(customer)).thenReturn(customerDTO);
+
+        // When
+        customerService.getCustomerById(1L);
+        Optional<CustomerDTO> result = customerService.getCustomerById(1L);
+
+        // Then
+        assertEquals(Optional.of(customerDTO), result);
+        verify(customerRepository, times(1)).findById(1L);
+    }
+
     @Test
     @DisplayName("Should return empty when getCustomerById is called with non-existing ID")
     void getCustomerById_shouldReturnEmpty_whenIdDoesNotExist() {
@@ -134,6 +336,171 @@ class CustomerServiceTest {
         verify(customerMapper, never()).toDTO(any());
     }
 
+    @Test
+    @DisplayName("Should return changed and deleted customers with a cursor after the last of each")
+    void getChangedCustomers_shouldReturnChangesAndNextCursor() {
+        // Given
+        OffsetDateTime ts = OffsetDateTime.parse("2024-06-01T00:00:00Z");
+        Position start = new Position(ts, 0L);
+        List<CustomerView> changed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OffsetDateTime updatedAt = OffsetDateTime.parse("2024-06-0" + (2 + i) + "T00:00:00Z");
+            changed.add(new CustomerView(1L + i, "John", "Doe", "john" + i + "@example.com", null,
+                    ts, updatedAt, CustomerStatus.ACTIVE));
+        }
+        CustomerTombstone tombstone = new CustomerTombstone(9L, OffsetDateTime.parse("2024-06-05T00:00:00Z"));
+
+        when(customerRepository.findCurrentSnapshot()).thenReturn("100:105:102");
+        when(customerRepository.findChangedAfter(ts, 0L, Limit.of(3))).thenReturn(changed);
+        when(customerTombstoneRepository.findDeletedAfter(eq(ts), eq(0L), eq(3))).thenReturn(List.of(tombstone));
+
+        // When
+        CustomerSyncPageDTO page = customerService.getChangedCustomers(new TimeSyncPass(null, start, start), 2);
+
+        // Then
+        assertEquals(changed.subList(0, 2), page.getChanged());
+        assertEquals(List.of(9L), page.getDeleted());
+        assertTrue(page.isHasMore());
+        TimeSyncPass next = (TimeSyncPass) CursorCodec.decodeSync(page.getNextCursor()).orElseThrow();
+        assertEquals("100:105:102", next.to());
+        assertTrue(changed.get(1).updatedAt().isEqual(next.changed().createdAt()));
+        assertEquals(2L, next.changed().id());
+        assertTrue(tombstone.getDeletedAt().isEqual(next.deleted().createdAt()));
+        assertEquals(9L, next.deleted().id());
+    }
+
+    @Test
+    @DisplayName("Should start a pass after the snapshot of the first pass once it has no more changes")
+    void getChangedCustomers_shouldStartSnapshotPass_whenFirstPassIsDone() {
+        // Given
+        Position start = new Position(OffsetDateTime.parse("2024-06-01T00:00:00Z"), 5L);
+        when(customerRepository.findChangedAfter(any(), anyLong(), any())).thenReturn(List.of());
+        when(customerTombstoneRepository.findDeletedAfter(any(), anyLong(), anyInt())).thenReturn(List.of());
+
+        // When
+        CustomerSyncPageDTO page = customerService.getChangedCustomers(
+                new TimeSyncPass("100:105:102", start, start), 100);
+
+        // Then
+        assertTrue(page.getChanged().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(SnapshotSyncPass.after("100:105:102"),
+                CursorCodec.decodeSync(page.getNextCursor()).orElseThrow());
+        verify(customerRepository, never()).findCurrentSnapshot();
+    }
+
+    @Test
+    @DisplayName("Should read the changes between the previous snapshot and a new one, ordered by transaction")
+    void getChangedCustomers_shouldReadChangesBetweenSnapshots() {
+        // Given
+        List<CustomerView> views = createViews(3);
+        List<CustomerChange> changed = List.of(new CustomerChange(views.get(0), 102L),
+                new CustomerChange(views.get(1), 106L), new CustomerChange(views.get(2), 107L));
+        TombstoneChange tombstone = tombstoneChange(9L, 104L);
+
+        when(customerRepository.findCurrentSnapshot()).thenReturn("108:110:109");
+        when(customerRepository.findChangedBetween("100:105:102", "108:110:109", 0L, 0L, 3)).thenReturn(changed);
+        when(customerTombstoneRepository.findDeletedBetween("100:105:102", "108:110:109", 0L, 0L, 3))
+                .thenReturn(List.of(tombstone));
+
+        // When
+        CustomerSyncPageDTO page = customerService.getChangedCustomers(SnapshotSyncPass.after("100:105:102"), 2);
+
+        // Then
+        assertEquals(views.subList(0, 2), page.getChanged());
+        assertEquals(List.of(9L), page.getDeleted());
+        assertTrue(page.isHasMore());
+        assertEquals(new SnapshotSyncPass("100:105:102", "108:110:109", new ChangePosition(106L, 12L),
+                        new ChangePosition(104L, 9L)),
+                CursorCodec.decodeSync(page.getNextCursor()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot of a pass across its pages and start the next pass after it")
+    void getChangedCustomers_shouldStartNextPass_whenSnapshotPassIsDone() {
+        // Given
+        SnapshotSyncPass pass = new SnapshotSyncPass("100:105:102", "108:110:109", new ChangePosition(106L, 12L),
+                new ChangePosition(104L, 9L));
+        when(customerRepository.findChangedBetween("100:105:102", "108:110:109", 106L, 12L, 101))
+                .thenReturn(List.of());
+        when(customerTombstoneRepository.findDeletedBetween("100:105:102", "108:110:109", 104L, 9L, 101))
+                .thenReturn(List.of());
+
+        // When
+        CustomerSyncPageDTO page = customerService.getChangedCustomers(pass, 100);
+
+        // Then
+        assertTrue(page.getChanged().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(SnapshotSyncPass.after("108:110:109"),
+                CursorCodec.decodeSync(page.getNextCursor()).orElseThrow());
+        verify(customerRepository, never()).findCurrentSnapshot();
+    }
+
+    private static TombstoneChange tombstoneChange(long customerId, long xid) {
+        return new TombstoneChange() {
+            @Override
+            public Long getCustomerId() {
+                return customerId;
+            }
+
+            @Override
+            public long getXid() {
+                return xid;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should look up uncached IDs and emails in one query and keep the request order")
+    void lookupCustomers_shouldUseOneQueryAndKeepRequestOrder() {
+        // Given
+        CustomerDTO cached = CustomerMock.createMockCustomerDTO();
+        cached.setId(2L);
+        cached.setEmail("cached@example.com");
+        customerCache.getById(2L, () -> Optional.of(cached));
+
+        Customer third = CustomerMock.createMockCustomer();
+        third.setId(3L);
+        third.setEmail("third@example.com");
+        Customer john = CustomerMock.createMockCustomer();
+        CustomerDTO thirdDTO = CustomerMock.createMockCustomerDTO();
+        thirdDTO.setId(3L);
+        thirdDTO.setEmail("third@example.com");
+        CustomerDTO johnDTO = CustomerMock.createMockCustomerDTO();
+
+        when(customerRepository.findByIdsOrEmails(new Long[]{3L, 99L},
+                new String[]{"john.doe@example.com", "nobody@example.com"}))
+                .thenReturn(List.of(john, third));
+        when(customerMapper.toDTOList(List.of(john, third))).thenReturn(List.of(johnDTO, thirdDTO));
+
+        // When
+        CustomerLookupResultDTO result = customerService.lookupCustomers(List.of(3L, 2L, 99L, 3L),
+                List.of("JOHN.DOE@example.com", "nobody@example.com"));
+
+        // Then
+        assertEquals(List.of(3L, 2L, 1L), result.getCustomers().stream().map(CustomerDTO::getId).toList());
+        assertEquals(List.of(99L), result.getMissingIds());
+        assertEquals(List.of("nobody@example.com"), result.getMissingEmails());
+        verify(customerRepository, times(1)).findByIdsOrEmails(any(), any());
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should not query when every ID looked up is cached")
+    void lookupCustomers_shouldNotQuery_whenAllIdsAreCached() {
+        // Given
+        CustomerDTO cached = CustomerMock.createMockCustomerDTO();
+        customerCache.getById(1L, () -> Optional.of(cached));
+
+        // When
+        CustomerLookupResultDTO result = customerService.lookupCustomers(List.of(1L), List.of());
+
+        // Then
+        assertEquals(List.of(cached), result.getCustomers());
+        verify(customerRepository, never()).findByIdsOrEmails(any(), any());
+    }
+
     @Test
     @DisplayName("Should create and return customer when createCustomer is called")
     void createCustomer_shouldCreateAndReturnCustomer() {
@@ -146,49 +513,149 @@ class CustomerServiceTest {
         newCustomer.setLastName("Smith");
         
         when(customerMapper.toEntity(customerCreateDTO)).thenReturn(newCustomer);
-        when(customerRepository.save(newCustomer)).thenReturn(customer);
+        when(customerRepository.insertIfEmailAbsent(newCustomer)).thenReturn(Optional.of(customer));
         when(customerMapper.toDTO(customer)).thenReturn(customerDTO);
 
         // When
-        CustomerDTO result = customerService.createCustomer(customerCreateDTO);
+        Optional<CustomerDTO> result = customerService.createCustomer(customerCreateDTO);
 
         // Then
-        assertNotNull(result);
-        assertEquals(customerDTO, result);
+        assertTrue(result.isPresent());
+        assertEquals(customerDTO, result.get());
         
         verify(customerMapper).toEntity(customerCreateDTO);
-        verify(customerRepository).save(newCustomer);
+        verify(customerRepository).insertIfEmailAbsent(newCustomer);
         verify(customerMapper).toDTO(customer);
+        verify(customerOutbox).recordCreated(customerDTO);
+    }
+
+    @Test
+    @DisplayName("Should return empty when createCustomer is called with existing email")
+    void createCustomer_shouldReturnEmpty_whenEmailExists() {
+        // Given
+        CustomerCreateDTO customerCreateDTO = CustomerMock.createMockCustomerCreateDTO();
+        Customer newCustomer = new Customer();
+
+        when(customerMapper.toEntity(customerCreateDTO)).thenReturn(newCustomer);
+        when(customerRepository.insertIfEmailAbsent(newCustomer)).thenReturn(Optional.empty());
+
+        // When
+        Optional<CustomerDTO> result = customerService.createCustomer(customerCreateDTO);
+
+        // Then
+        assertFalse(result.isPresent());
+        verify(customerMapper, never()).toDTO(any());
+        verify(customerCache, never()).putAfterCommit(any());
+        verify(customerOutbox, never()).recordCreated(any(CustomerDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should create new customers and report conflicts ignoring case when createCustomers is called")
+    void createCustomers_shouldCreateNewCustomersAndReportConflicts() {
+        // Given
+        CustomerCreateDTO existing = CustomerMock.createMockCustomerCreateDTO();
+        existing.setEmail("Jane.Smith@Example.com");
+        CustomerCreateDTO fresh = CustomerMock.createMockCustomerCreateDTO();
+        fresh.setEmail("fresh@example.com");
+        CustomerCreateDTO repeated = CustomerMock.createMockCustomerCreateDTO();
+        repeated.setEmail("FRESH@example.com");
+        Customer newCustomer = new Customer();
+        Customer savedCustomer = CustomerMock.createMockCustomer();
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        OffsetDateTime now = OffsetDateTime.parse("2024-06-01T00:00:00Z");
+
+        when(customerRepository.findExistingEmails(Set.of("jane.smith@example.com", "fresh@example.com")))
+                .thenReturn(Set.of("jane.smith@example.com"));
+        when(customerRepository.findTransactionTime()).thenReturn(now);
+        when(customerMapper.toEntity(fresh)).thenReturn(newCustomer);
+        when(customerRepository.saveAll(List.of(newCustomer))).thenReturn(List.of(savedCustomer));
+        when(customerMapper.toDTO(savedCustomer)).thenReturn(customerDTO);
+
+        // When
+        List<CustomerBatchResultDTO> results = customerService.createCustomers(List.of(existing, fresh, repeated));
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(BatchItemStatus.CONFLICT, results.get(0).getStatus());
+        assertNull(results.get(0).getCustomer());
+        assertEquals(BatchItemStatus.CREATED, results.get(1).getStatus());
+        assertEquals(customerDTO, results.get(1).getCustomer());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(BatchItemStatus.CONFLICT, results.get(2).getStatus());
+        assertEquals(now, newCustomer.getCreatedAt());
+        assertEquals(now, newCustomer.getUpdatedAt());
+
+        verify(customerRepository, times(1)).findExistingEmails(any());
+        verify(customerRepository, times(1)).saveAll(any());
+        verify(customerOutbox).recordCreated(List.of(customerDTO));
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Should report invalid items without failing the batch when createCustomers is called")
+    void createCustomers_shouldReportInvalidItems() {
+        // Given
+        CustomerCreateDTO missingEmail = CustomerMock.createMockCustomerCreateDTO();
+        missingEmail.setEmail(null);
+        CustomerCreateDTO malformedEmail = CustomerMock.createMockCustomerCreateDTO();
+        malformedEmail.setEmail("not-an-email");
+        CustomerCreateDTO blankName = CustomerMock.createMockCustomerCreateDTO();
+        blankName.setFirstName(" ");
+        blankName.setEmail("blank@example.com");
+        CustomerCreateDTO valid = CustomerMock.createMockCustomerCreateDTO();
+        Customer newCustomer = new Customer();
+        Customer savedCustomer = CustomerMock.createMockCustomer();
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+
+        when(customerRepository.findExistingEmails(Set.of("jane.smith@example.com"))).thenReturn(Set.of());
+        when(customerMapper.toEntity(valid)).thenReturn(newCustomer);
+        when(customerRepository.saveAll(List.of(newCustomer))).thenReturn(List.of(savedCustomer));
+        when(customerMapper.toDTO(savedCustomer)).thenReturn(customerDTO);
+
+        // When
+        List<CustomerBatchResultDTO> results = customerService.createCustomers(
+                Arrays.asList(missingEmail, malformedEmail, null, blankName, valid));
+
+        // Then
+        assertEquals(5, results.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(BatchItemStatus.INVALID, results.get(i).getStatus());
+            assertEquals(i, results.get(i).getIndex());
+            assertNull(results.get(i).getCustomer());
+        }
+        assertEquals(BatchItemStatus.CREATED, results.get(4).getStatus());
+        verify(customerMapper, times(1)).toEntity(any());
     }
 
     @Test
     @DisplayName("Should update and return customer when updateCustomer is called with existing ID")
     void updateCustomer_shouldUpdateAndReturnCustomer_whenIdExists() {
         // Given
-        Customer customer = CustomerMock.createMockCustomer();
         CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
         CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
         Long id = 1L;
+        Customer changes = new Customer();
+        changes.setFirstName("Updated");
         Customer updatedCustomer = new Customer();
         updatedCustomer.setId(id);
         updatedCustomer.setFirstName("Updated");
         
-        when(customerRepository.findById(id)).thenReturn(Optional.of(customer));
-        when(customerMapper.updateCustomerFromDTO(customerUpdateDTO, customer)).thenReturn(updatedCustomer);
-        when(customerRepository.save(updatedCustomer)).thenReturn(updatedCustomer);
+        when(customerMapper.updateCustomerFromDTO(eq(customerUpdateDTO), any(Customer.class))).thenReturn(changes);
+        when(customerRepository.updateCustomer(id, CustomerRepository.ANY_VERSION, changes)).thenReturn(Optional.of(updatedCustomer));
         when(customerMapper.toDTO(updatedCustomer)).thenReturn(customerDTO);
 
         // When
-        Optional<CustomerDTO> result = customerService.updateCustomer(id, customerUpdateDTO);
+        Optional<CustomerDTO> result = customerService.updateCustomer(id, null, customerUpdateDTO);
 
         // Then
         assertTrue(result.isPresent());
         assertEquals(customerDTO, result.get());
         
-        verify(customerRepository).findById(id);
-        verify(customerMapper).updateCustomerFromDTO(customerUpdateDTO, customer);
-        verify(customerRepository).save(updatedCustomer);
+        verify(customerRepository).updateCustomer(id, CustomerRepository.ANY_VERSION, changes);
+        verify(customerRepository, never()).findById(any());
         verify(customerMapper).toDTO(updatedCustomer);
+        verify(customerOutbox).recordUpdated(customerDTO);
     }
 
     @Test
@@ -197,62 +664,161 @@ class CustomerServiceTest {
         // Given
         CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
         Long id = 999L;
-        when(customerRepository.findById(id)).thenReturn(Optional.empty());
+        Customer changes = new Customer();
+        when(customerMapper.updateCustomerFromDTO(eq(customerUpdateDTO), any(Customer.class))).thenReturn(changes);
+        when(customerRepository.updateCustomer(id, CustomerRepository.ANY_VERSION, changes)).thenReturn(Optional.empty());
 
         // When
-        Optional<CustomerDTO> result = customerService.updateCustomer(id, customerUpdateDTO);
+        Optional<CustomerDTO> result = customerService.updateCustomer(id, null, customerUpdateDTO);
 
         // Then
         assertFalse(result.isPresent());
         
-        verify(customerRepository).findById(id);
-        verify(customerMapper, never()).updateCustomerFromDTO(any(), any());
-        verify(customerRepository, never()).save(any());
+        verify(customerRepository).updateCustomer(id, CustomerRepository.ANY_VERSION, changes);
         verify(customerMapper, never()).toDTO(any());
     }
 
     @Test
-    @DisplayName("Should delete customer when deleteCustomer is called")
-    void deleteCustomer_shouldDeleteCustomer() {
+    @DisplayName("Should throw when updateCustomer finds the customer at another version")
+    void updateCustomer_shouldThrow_whenVersionIsStale() {
         // Given
-        Long id = 1L;
+        CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
+        Customer changes = new Customer();
+        when(customerMapper.updateCustomerFromDTO(eq(customerUpdateDTO), any(Customer.class))).thenReturn(changes);
+        when(customerRepository.updateCustomer(1L, 3L, changes)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> customerService.updateCustomer(1L, 3L, customerUpdateDTO));
+        verify(customerCache, never()).putAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("Should update only the status when patchCustomer is called with a status-only patch")
+    void patchCustomer_shouldUpdateOnlyStatus() {
+        // Given
+        ObjectNode patch = objectMapper.createObjectNode().put("status", "INACTIVE");
+        Customer patchedCustomer = CustomerMock.createMockCustomer();
+        patchedCustomer.setStatus(CustomerStatus.INACTIVE);
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        when(customerRepository.patchCustomer(1L, 3L, Map.of("status", "INACTIVE")))
+                .thenReturn(Optional.of(patchedCustomer));
+        when(customerMapper.toDTO(patchedCustomer)).thenReturn(customerDTO);
 
         // When
-        customerService.deleteCustomer(id);
+        Optional<CustomerDTO> result = customerService.patchCustomer(1L, 3L, patch);
 
         // Then
-        verify(customerRepository).deleteById(id);
+        assertEquals(Optional.of(customerDTO), result);
+        verify(customerRepository, never()).updateCustomer(any(), anyLong(), any());
+        verify(customerCache).putAfterCommit(customerDTO);
     }
 
     @Test
-    @DisplayName("Should return true when existsByEmail is called with existing email")
-    void existsByEmail_shouldReturnTrue_whenEmailExists() {
+    @DisplayName("Should throw when patchCustomer finds the customer at another version")
+    void patchCustomer_shouldThrow_whenVersionIsStale() {
         // Given
-        String email = "john.doe@example.com";
-        when(customerRepository.existsByEmail(email)).thenReturn(true);
+        ObjectNode patch = objectMapper.createObjectNode().put("status", "INACTIVE");
+        when(customerRepository.patchCustomer(1L, 3L, Map.of("status", "INACTIVE"))).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> customerService.patchCustomer(1L, 3L, patch));
+    }
+
+    @Test
+    @DisplayName("Should return the current customer without updating when patchCustomer is called with an empty patch")
+    void patchCustomer_shouldNotUpdate_whenPatchIsEmpty() {
+        // Given
+        Customer customer = CustomerMock.createMockCustomer();
+        CustomerDTO customerDTO = CustomerMock.createMockCustomerDTO();
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerMapper.toDTO(customer)).thenReturn(customerDTO);
 
         // When
-        boolean result = customerService.existsByEmail(email);
+        Optional<CustomerDTO> result = customerService.patchCustomer(1L, null, objectMapper.createObjectNode());
+
+        // Then
+        assertEquals(Optional.of(customerDTO), result);
+        verify(customerRepository, never()).patchCustomer(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should return empty when updateCustomer expects a version of a non-existing customer")
+    void updateCustomer_shouldReturnEmpty_whenVersionExpectedAndIdDoesNotExist() {
+        // Given
+        CustomerUpdateDTO customerUpdateDTO = CustomerMock.createMockCustomerUpdateDTO();
+        Customer changes = new Customer();
+        when(customerMapper.updateCustomerFromDTO(eq(customerUpdateDTO), any(Customer.class))).thenReturn(changes);
+        when(customerRepository.updateCustomer(999L, 3L, changes)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(999L)).thenReturn(false);
+
+        // When
+        Optional<CustomerDTO> result = customerService.updateCustomer(999L, 3L, customerUpdateDTO);
+
+        // Then
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    @DisplayName("Should read the version from the cache before the database when getCustomerVersion is called")
+    void getCustomerVersion_shouldPreferCache() {
+        // Given
+        CustomerDTO cached = CustomerMock.createMockCustomerDTO();
+        cached.setVersion(3L);
+        customerCache.putAfterCommit(cached);
+        when(customerRepository.findVersionById(2L)).thenReturn(Optional.of(7L));
+
+        // When & Then
+        assertEquals(Optional.of(3L), customerService.getCustomerVersion(1L));
+        assertEquals(Optional.of(7L), customerService.getCustomerVersion(2L));
+        verify(customerRepository, never()).findVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("Should delete customer and return true when deleteCustomer is called with existing ID")
+    void deleteCustomer_shouldDeleteCustomer() {
+        // Given
+        Long id = 1L;
+        when(customerRepository.deleteCustomerById(id)).thenReturn(1);
+
+        // When
+        boolean result = customerService.deleteCustomer(id);
 
         // Then
         assertTrue(result);
-        
-        verify(customerRepository).existsByEmail(email);
+        verify(customerRepository).deleteCustomerById(id);
+        verify(customerRepository, never()).findById(any());
+        verify(customerCache).evictAfterCommit(id);
+        verify(customerTombstoneRepository).insertTombstone(id);
+        verify(customerOutbox).recordDeleted(id);
     }
 
     @Test
-    @DisplayName("Should return false when existsByEmail is called with non-existing email")
-    void existsByEmail_shouldReturnFalse_whenEmailDoesNotExist() {
+    @DisplayName("Should return false when deleteCustomer is called with non-existing ID")
+    void deleteCustomer_shouldReturnFalse_whenIdDoesNotExist() {
         // Given
-        String email = "nonexistent@example.com";
-        when(customerRepository.existsByEmail(email)).thenReturn(false);
+        Long id = 999L;
+        when(customerRepository.deleteCustomerById(id)).thenReturn(0);
 
         // When
-        boolean result = customerService.existsByEmail(email);
+        boolean result = customerService.deleteCustomer(id);
 
         // Then
         assertFalse(result);
-        
-        verify(customerRepository).existsByEmail(email);
+        verify(customerTombstoneRepository, never()).insertTombstone(any());
+        verify(customerOutbox, never()).recordDeleted(any());
+    }
+
+    private static List<CustomerView> createViews(int count) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<CustomerView> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            customers.add(new CustomerView(11L + i, "John", "Doe", "john" + i + "@example.com", null,
+                    now, now, CustomerStatus.ACTIVE));
+        }
+        return customers;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.customer.service;
+
+import com.customer.cache.CustomerCache;
+import com.customer.dto.CustomerFilterDTO;
+import com.customer.dto.CustomerStatusTransitionDTO;
+import com.customer.enums.CustomerStatus;
+import com.customer.repository.CustomerRepository;
+import com.customer.repository.CustomerRepositoryCustom.StatusTransitionChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerStatusTransitionServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CustomerCache customerCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CustomerStatusTransitionService customerStatusTransitionService;
+
+    @BeforeEach
+    void setUp() {
+        customerStatusTransitionService = new CustomerStatusTransitionService(customerRepository, customerCache,
+                new TransactionTemplate(transactionManager), 2);
+    }
+
+    @Test
+    @DisplayName("Should transition sorted, distinct IDs in chunks and stream the changed ones")
+    void transitionStatus_shouldTransitionIdsInChunks() throws Exception {
+        // Given
+        CustomerStatusTransitionDTO transition = new CustomerStatusTransitionDTO(CustomerStatus.SUSPENDED,
+                List.of(5L, 1L, 3L, 1L), null);
+        when(customerRepository.transitionStatus(eq(CustomerStatus.SUSPENDED), any(CustomerFilterDTO.class),
+                aryEq(new Long[]{1L, 3L}), eq(0L), eq(2)))
+                .thenReturn(new StatusTransitionChunk(3L, List.of(1L, 3L)));
+        when(customerRepository.transitionStatus(eq(CustomerStatus.SUSPENDED), any(CustomerFilterDTO.class),
+                aryEq(new Long[]{5L}), eq(0L), eq(1)))
+                .thenReturn(new StatusTransitionChunk(5L, List.of()));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        customerStatusTransitionService.transitionStatus(transition, outputStream);
+
+        // Then
+        assertEquals("1\n3\n", outputStream.toString(StandardCharsets.UTF_8));
+        verify(customerCache).evictAfterCommit(1L);
+        verify(customerCache).evictAfterCommit(3L);
+        verify(customerCache, never()).evictAfterCommit(5L);
+    }
+
+    @Test
+    @DisplayName("Should page through the filter after the last ID of each chunk until none is left")
+    void transitionStatus_shouldPageThroughFilter() throws Exception {
+        // Given
+        CustomerFilterDTO filter = new CustomerFilterDTO(CustomerStatus.ACTIVE, null, null);
+        CustomerStatusTransitionDTO transition = new CustomerStatusTransitionDTO(CustomerStatus.INACTIVE, null, filter);
+        when(customerRepository.transitionStatus(CustomerStatus.INACTIVE, filter, null, 0L, 2))
+                .thenReturn(new StatusTransitionChunk(4L, List.of(2L, 4L)));
+        when(customerRepository.transitionStatus(CustomerStatus.INACTIVE, filter, null, 4L, 2))
+                .thenReturn(new StatusTransitionChunk(9L, List.of(9L)));
+        when(customerRepository.transitionStatus(CustomerStatus.INACTIVE, filter, null, 9L, 2))
+                .thenReturn(new StatusTransitionChunk(null, List.of()));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        customerStatusTransitionService.transitionStatus(transition, outputStream);
+
+        // Then
+        assertEquals("2\n4\n9\n", outputStream.toString(StandardCharsets.UTF_8));
+        verify(customerRepository, times(3)).transitionStatus(eq(CustomerStatus.INACTIVE), eq(filter), isNull(),
+                anyLong(), anyInt());
+    }
+}
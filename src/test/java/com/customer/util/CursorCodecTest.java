@@ -0,0 +1,135 @@
+package com.customer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    @Test
+    @DisplayName("Should decode the id that was encoded")
+    void decodeId_shouldReturnEncodedId() {
+        // Given
+        String cursor = CursorCodec.encodeId(42L);
+
+        // When
+        Optional<Long> id = CursorCodec.decodeId(cursor);
+
+        // Then
+        assertTrue(id.isPresent());
+        assertEquals(42L, id.get());
+    }
+
+    @Test
+    @DisplayName("Should return empty when decodeId is called with malformed cursor")
+    void decodeId_shouldReturnEmpty_whenCursorIsMalformed() {
+        assertTrue(CursorCodec.decodeId("not a cursor!").isEmpty());
+        assertTrue(CursorCodec.decodeId("").isEmpty());
+        assertTrue(CursorCodec.decodeId(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return empty when decodeId is called with cursor of another kind")
+    void decodeId_shouldReturnEmpty_whenCursorHasUnknownPrefix() {
+        // Given
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("other:42".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertTrue(CursorCodec.decodeId(cursor).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should decode the creation time and id that were encoded")
+    void decodeCreatedAt_shouldReturnEncodedPosition() {
+        // Given
+        OffsetDateTime createdAt = OffsetDateTime.parse("2024-06-15T10:30:00.123456-03:00");
+        String cursor = CursorCodec.encodeCreatedAt(createdAt, 42L);
+
+        // When
+        Optional<CursorCodec.Position> position = CursorCodec.decodeCreatedAt(cursor);
+
+        // Then
+        assertTrue(position.isPresent());
+        assertTrue(createdAt.isEqual(position.get().createdAt()));
+        assertEquals(42L, position.get().id());
+    }
+
+    @Test
+    @DisplayName("Should not decode an id cursor as a creation time cursor")
+    void decodeCreatedAt_shouldReturnEmpty_whenCursorIsIdCursor() {
+        assertTrue(CursorCodec.decodeCreatedAt(CursorCodec.encodeId(42L)).isEmpty());
+        assertTrue(CursorCodec.decodeId(CursorCodec.encodeCreatedAt(OffsetDateTime.now(), 42L)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should decode the position in the first sync pass that was encoded")
+    void decodeSync_shouldReturnEncodedTimeSyncPass() {
+        // Given
+        CursorCodec.Position changed = new CursorCodec.Position(OffsetDateTime.parse("2024-06-15T10:30:00.123456Z"), 42L);
+        CursorCodec.Position deleted = new CursorCodec.Position(OffsetDateTime.parse("2024-06-14T08:00:00Z"), 7L);
+        String cursor = CursorCodec.encodeSync(new CursorCodec.TimeSyncPass("100:105:102,104", changed, deleted));
+
+        // When
+        Optional<CursorCodec.SyncPosition> position = CursorCodec.decodeSync(cursor);
+
+        // Then
+        assertTrue(position.isPresent());
+        CursorCodec.TimeSyncPass pass = (CursorCodec.TimeSyncPass) position.get();
+        assertEquals("100:105:102,104", pass.to());
+        assertTrue(changed.createdAt().isEqual(pass.changed().createdAt()));
+        assertEquals(42L, pass.changed().id());
+        assertTrue(deleted.createdAt().isEqual(pass.deleted().createdAt()));
+        assertEquals(7L, pass.deleted().id());
+    }
+
+    @Test
+    @DisplayName("Should decode a first pass cursor without a snapshot as a pass not started yet")
+    void decodeSync_shouldReturnTimeSyncPassWithoutSnapshot() {
+        // Given
+        CursorCodec.Position start = new CursorCodec.Position(OffsetDateTime.parse("2024-06-01T00:00:00Z"), 0L);
+        String cursor = CursorCodec.encodeSync(new CursorCodec.TimeSyncPass(null, start, start));
+
+        // When
+        Optional<CursorCodec.SyncPosition> position = CursorCodec.decodeSync(cursor);
+
+        // Then
+        assertTrue(position.isPresent());
+        assertNull(((CursorCodec.TimeSyncPass) position.get()).to());
+    }
+
+    @Test
+    @DisplayName("Should decode the position in a snapshot sync pass that was encoded")
+    void decodeSync_shouldReturnEncodedSnapshotSyncPass() {
+        // Given
+        CursorCodec.SnapshotSyncPass pass = new CursorCodec.SnapshotSyncPass("100:105:102", "108:110:",
+                new CursorCodec.ChangePosition(106L, 42L), new CursorCodec.ChangePosition(104L, 7L));
+
+        // When & Then
+        assertEquals(Optional.of(pass), CursorCodec.decodeSync(CursorCodec.encodeSync(pass)));
+        assertEquals(Optional.of(CursorCodec.SnapshotSyncPass.after("108:110:")),
+                CursorCodec.decodeSync(CursorCodec.encodeSync(CursorCodec.SnapshotSyncPass.after("108:110:"))));
+    }
+
+    @Test
+    @DisplayName("Should return empty when decodeSync is called with a cursor holding an invalid snapshot")
+    void decodeSync_shouldReturnEmpty_whenSnapshotIsInvalid() {
+        CursorCodec.SnapshotSyncPass pass = new CursorCodec.SnapshotSyncPass("100:105:102'); --", null,
+                CursorCodec.ChangePosition.START, CursorCodec.ChangePosition.START);
+        assertTrue(CursorCodec.decodeSync(CursorCodec.encodeSync(pass)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return empty when decodeSync is called with a cursor of another kind")
+    void decodeSync_shouldReturnEmpty_whenCursorIsListingCursor() {
+        assertTrue(CursorCodec.decodeSync(CursorCodec.encodeCreatedAt(OffsetDateTime.now(), 42L)).isEmpty());
+        assertTrue(CursorCodec.decodeSync(CursorCodec.encodeId(42L)).isEmpty());
+        assertTrue(CursorCodec.decodeSync("not a cursor!").isEmpty());
+    }
+}
@@ -0,0 +1,32 @@
+package com.customer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, weak tags and wildcard")
+    void matchesNoneMatch_shouldUseWeakComparison() {
+        String eTag = ETags.of(3L);
+
+        assertTrue(ETags.matchesNoneMatch("\"3\"", eTag));
+        assertTrue(ETags.matchesNoneMatch("\"1\", W/\"3\"", eTag));
+        assertTrue(ETags.matchesNoneMatch("*", eTag));
+        assertFalse(ETags.matchesNoneMatch("\"2\", \"33\"", eTag));
+    }
+
+    @Test
+    @DisplayName("Should read the version of a single strong If-Match tag only")
+    void parseVersion_shouldAcceptSingleStrongTag() {
+        assertEquals(Optional.of(3L), ETags.parseVersion(" \"3\" "));
+        assertTrue(ETags.parseVersion("W/\"3\"").isEmpty());
+        assertTrue(ETags.parseVersion("\"3\", \"4\"").isEmpty());
+        assertTrue(ETags.parseVersion("3").isEmpty());
+        assertTrue(ETags.parseVersion("\"\"").isEmpty());
+    }
+}
@@ -0,0 +1,49 @@
+package com.customer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressInputStreamTest {
+
+    @Test
+    @DisplayName("Should report the bytes read so far on every read when the interval is zero")
+    void read_shouldReportBytesRead() throws IOException {
+        // Given
+        List<Long> reports = new ArrayList<>();
+        ProgressInputStream input = new ProgressInputStream(new ByteArrayInputStream(new byte[10]),
+                reports::add, Duration.ZERO);
+
+        // When
+        input.read();
+        input.read(new byte[4]);
+        input.readAllBytes();
+
+        // Then
+        assertEquals(10L, input.getBytesRead());
+        assertEquals(List.of(1L, 5L, 10L), reports);
+    }
+
+    @Test
+    @DisplayName("Should not report more often than the interval")
+    void read_shouldNotReport_withinInterval() throws IOException {
+        // Given
+        List<Long> reports = new ArrayList<>();
+        ProgressInputStream input = new ProgressInputStream(new ByteArrayInputStream(new byte[10]),
+                reports::add, Duration.ofHours(1));
+
+        // When
+        input.readAllBytes();
+
+        // Then
+        assertEquals(10L, input.getBytesRead());
+        assertTrue(reports.isEmpty());
+    }
+}